@@ -0,0 +1,52 @@
+package org.confng.playground.benchmarks;
+
+import org.confng.api.ConfNGKey;
+
+/**
+ * Configuration key used by the benchmarks.
+ *
+ * <p>Every benchmark scenario keeps its fixture keys under its own prefix (e.g.
+ * "yaml.database.url", "json.database.url") so that higher-priority sources such as
+ * environment variables never shadow the source being measured.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+public final class BenchmarkKey implements ConfNGKey {
+
+    private final String key;
+    private final String defaultValue;
+
+    private BenchmarkKey(String key, String defaultValue) {
+        this.key = key;
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * Creates a key below the given scenario prefix.
+     *
+     * @param scenario the benchmark scenario, used as key prefix
+     * @param suffix the key below the prefix, e.g. "database.url"
+     * @param defaultValue the default value, may be null
+     * @return the key
+     */
+    public static BenchmarkKey of(String scenario, String suffix, String defaultValue) {
+        return new BenchmarkKey(scenario + "." + suffix, defaultValue);
+    }
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    @Override
+    public boolean isSensitive() {
+        return false;
+    }
+}
@@ -0,0 +1,76 @@
+package org.confng.playground.benchmarks;
+
+import org.confng.ConfNG;
+import org.confng.playground.yamlconfig.YamlSource;
+
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Registers the configuration source for a benchmark scenario.
+ *
+ * <p>Scenarios mirror the sources shown across the playground examples. File fixtures
+ * live in {@code src/main/resources}, which is the working directory of the
+ * {@code jmh} task.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+public final class BenchmarkSources {
+
+    /** All benchmark scenarios, one per source type. */
+    public static final String YAML = "yaml";
+    public static final String JSON = "json";
+    public static final String PROPERTIES = "properties";
+    public static final String ENV = "env";
+    public static final String SYSTEM = "system";
+    public static final String TOML = "toml";
+
+    private static final Map<String, String> SYSTEM_PROPERTIES = Map.of(
+        "system.app.name", "ConfNG System Properties Benchmark",
+        "system.app.version", "1.0.0",
+        "system.database.url", "jdbc:h2:mem:system",
+        "system.database.username", "system_user",
+        "system.database.pool.maxSize", "25",
+        "system.database.pool.minSize", "5",
+        "system.database.pool.timeout", "30000"
+    );
+
+    private BenchmarkSources() {
+    }
+
+    /**
+     * Resets ConfNG to its default sources and adds the source for the given scenario.
+     *
+     * @param scenario one of the scenario constants
+     * @throws IllegalArgumentException if the scenario is unknown
+     */
+    public static void register(String scenario) {
+        ConfNG.clearSourcesAndUseDefaults();
+
+        switch (scenario) {
+            case YAML -> ConfNG.addSource(new YamlSource(Paths.get("bench.yaml")));
+            case JSON -> ConfNG.loadJson("bench.json");
+            case PROPERTIES -> ConfNG.loadProperties("bench.properties");
+            case TOML -> ConfNG.loadGlobalConfig();
+            case SYSTEM -> SYSTEM_PROPERTIES.forEach(System::setProperty);
+            case ENV -> {
+                // Environment variables are set by the jmh task and read by the default sources
+            }
+            default -> throw new IllegalArgumentException("Unknown benchmark scenario: " + scenario);
+        }
+    }
+
+    /**
+     * Removes any global state a scenario left behind.
+     *
+     * @param scenario one of the scenario constants
+     */
+    public static void unregister(String scenario) {
+        if (SYSTEM.equals(scenario)) {
+            SYSTEM_PROPERTIES.keySet().forEach(System::clearProperty);
+        }
+        ConfNG.clearSourcesAndUseDefaults();
+    }
+}
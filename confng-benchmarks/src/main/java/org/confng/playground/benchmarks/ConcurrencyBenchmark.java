@@ -0,0 +1,256 @@
+package org.confng.playground.benchmarks;
+
+import org.confng.ConfNG;
+import org.confng.api.ConfNGKey;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how ConfNG lookups scale with the number of concurrent readers.
+ *
+ * <p>Readers call {@code ConfNG.get} and {@code ConfNG.getInt} in a loop, first on 1..N
+ * platform threads and then on thousands of virtual threads. While they run, a single
+ * writer re-registers the scenario's source every few milliseconds (clearing the sources
+ * and calling {@code ConfNG.addSource} again), which is what a configuration reload does
+ * in a running service. For every thread count the throughput and the p50/p99/p999 read
+ * latency are reported, together with the latency of the writer.</p>
+ *
+ * <p>JMH is not used here because it cannot run benchmark threads as virtual threads and
+ * does not report tail latencies for throughput runs. Every read is timed individually,
+ * so the reported latencies include the cost of {@code System.nanoTime} (~20 ns).</p>
+ *
+ * <p>Configured through system properties, see the {@code concurrencyBenchmark} task:</p>
+ * <ul>
+ *   <li>{@code concurrency.source} - benchmark scenario (default "yaml")</li>
+ *   <li>{@code concurrency.platformThreads} - comma-separated platform reader counts</li>
+ *   <li>{@code concurrency.virtualThreads} - comma-separated virtual reader counts</li>
+ *   <li>{@code concurrency.warmupSeconds} / {@code concurrency.measureSeconds} - per thread count</li>
+ *   <li>{@code concurrency.writeIntervalMs} - pause between writes, 0 disables the writer</li>
+ *   <li>{@code concurrency.results} - JSON results file</li>
+ * </ul>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+public final class ConcurrencyBenchmark {
+
+    private static final int VIRTUAL_YIELD_INTERVAL = 64;
+    private static final int VIRTUAL_RECORDER_STRIPES = Runtime.getRuntime().availableProcessors() * 4;
+
+    private final String source;
+    private final long warmupNanos;
+    private final long measureNanos;
+    private final long writeIntervalMs;
+    private final ConfNGKey appName;
+    private final ConfNGKey poolMaxSize;
+
+    private ConcurrencyBenchmark(String source, long warmupSeconds, long measureSeconds, long writeIntervalMs) {
+        this.source = source;
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(warmupSeconds);
+        this.measureNanos = TimeUnit.SECONDS.toNanos(measureSeconds);
+        this.writeIntervalMs = writeIntervalMs;
+        this.appName = BenchmarkKey.of(source, "app.name", "Default Benchmark");
+        this.poolMaxSize = BenchmarkKey.of(source, "database.pool.maxSize", "10");
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String source = System.getProperty("concurrency.source", BenchmarkSources.YAML);
+        int[] platformThreads = counts(System.getProperty("concurrency.platformThreads", "1,2,4,8,16,32,64,128,256"));
+        int[] virtualThreads = counts(System.getProperty("concurrency.virtualThreads", "1000,10000"));
+        Path results = Paths.get(System.getProperty("concurrency.results", "concurrency-results.json"));
+
+        ConcurrencyBenchmark benchmark = new ConcurrencyBenchmark(source,
+            Long.getLong("concurrency.warmupSeconds", 2),
+            Long.getLong("concurrency.measureSeconds", 5),
+            Long.getLong("concurrency.writeIntervalMs", 10));
+
+        BenchmarkSources.register(source);
+        try {
+            List<Result> runs = new ArrayList<>();
+            System.out.println(Result.HEADER);
+            for (int threads : platformThreads) {
+                runs.add(print(benchmark.run(threads, false)));
+            }
+            for (int threads : virtualThreads) {
+                runs.add(print(benchmark.run(threads, true)));
+            }
+            writeJson(results, source, runs);
+            System.out.println("Results written to " + results.toAbsolutePath());
+        } finally {
+            BenchmarkSources.unregister(source);
+        }
+    }
+
+    /**
+     * Runs one warmup and one measured phase with the given number of readers.
+     */
+    private Result run(int threads, boolean virtual) throws InterruptedException {
+        phase(threads, virtual, warmupNanos);
+        return phase(threads, virtual, measureNanos);
+    }
+
+    private Result phase(int threads, boolean virtual, long durationNanos) throws InterruptedException {
+        LatencyRecorder[] recorders = new LatencyRecorder[virtual ? VIRTUAL_RECORDER_STRIPES : threads];
+        Arrays.setAll(recorders, i -> new LatencyRecorder());
+        LatencyRecorder writes = new LatencyRecorder();
+        LongAdder failures = new LongAdder();
+
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread.Builder builder = virtual ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        List<Thread> readers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            LatencyRecorder recorder = recorders[i % recorders.length];
+            readers.add(builder.start(() -> read(recorder, failures, ready, start, virtual)));
+        }
+
+        Thread writer = writeIntervalMs > 0
+            ? Thread.ofPlatform().daemon().start(() -> write(writes, start))
+            : null;
+
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        TimeUnit.NANOSECONDS.sleep(durationNanos);
+
+        readers.forEach(Thread::interrupt);
+        if (writer != null) {
+            writer.interrupt();
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        if (writer != null) {
+            writer.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        LatencyRecorder reads = new LatencyRecorder();
+        for (LatencyRecorder recorder : recorders) {
+            reads.add(recorder);
+        }
+        return new Result(virtual ? "virtual" : "platform", threads, elapsed, reads, writes, failures.sum());
+    }
+
+    private void read(LatencyRecorder recorder, LongAdder failures, CountDownLatch ready,
+                      CountDownLatch start, boolean virtual) {
+        ready.countDown();
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            return;
+        }
+
+        long operations = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            long begin = System.nanoTime();
+            String name = ConfNG.get(appName);
+            Integer maxSize = ConfNG.getInt(poolMaxSize);
+            recorder.record(System.nanoTime() - begin);
+
+            // Readers racing a reload may see the key's default, but never nothing at all
+            if (name == null || maxSize == null) {
+                failures.increment();
+            }
+
+            // Virtual threads are not preempted; yield so every reader gets a carrier
+            if (virtual && ++operations % VIRTUAL_YIELD_INTERVAL == 0) {
+                Thread.yield();
+            }
+        }
+    }
+
+    private void write(LatencyRecorder writes, CountDownLatch start) {
+        try {
+            start.await();
+            while (!Thread.currentThread().isInterrupted()) {
+                TimeUnit.MILLISECONDS.sleep(writeIntervalMs);
+                long begin = System.nanoTime();
+                BenchmarkSources.register(source);
+                writes.record(System.nanoTime() - begin);
+            }
+        } catch (InterruptedException e) {
+            // Phase is over
+        }
+    }
+
+    private static Result print(Result result) {
+        System.out.println(result);
+        return result;
+    }
+
+    private static int[] counts(String list) {
+        return Arrays.stream(list.split(","))
+            .map(String::trim)
+            .filter(value -> !value.isEmpty())
+            .mapToInt(Integer::parseInt)
+            .toArray();
+    }
+
+    private static void writeJson(Path file, String source, List<Result> runs) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"source\": \"").append(source).append("\",\n  \"runs\": [\n");
+        for (int i = 0; i < runs.size(); i++) {
+            json.append("    ").append(runs.get(i).toJson()).append(i < runs.size() - 1 ? ",\n" : "\n");
+        }
+        json.append("  ]\n}\n");
+
+        try {
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            Files.writeString(file, json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write benchmark results: " + file, e);
+        }
+    }
+
+    private static final class Result {
+
+        static final String HEADER = String.format("%-9s %8s %14s %10s %10s %10s %12s %12s %9s",
+            "kind", "threads", "reads/s", "p50 ns", "p99 ns", "p999 ns", "writes", "write p99", "failures");
+
+        final String kind;
+        final int threads;
+        final double readsPerSecond;
+        final LatencyRecorder reads;
+        final LatencyRecorder writes;
+        final long failures;
+
+        Result(String kind, int threads, long elapsedNanos, LatencyRecorder reads, LatencyRecorder writes,
+               long failures) {
+            this.kind = kind;
+            this.threads = threads;
+            this.readsPerSecond = reads.count() * 1e9 / elapsedNanos;
+            this.reads = reads;
+            this.writes = writes;
+            this.failures = failures;
+        }
+
+        String toJson() {
+            return String.format(
+                "{\"kind\": \"%s\", \"threads\": %d, \"readsPerSecond\": %.1f, \"p50Nanos\": %d, "
+                    + "\"p99Nanos\": %d, \"p999Nanos\": %d, \"writes\": %d, \"writeP99Nanos\": %d, \"failures\": %d}",
+                kind, threads, readsPerSecond, reads.percentile(50), reads.percentile(99),
+                reads.percentile(99.9), writes.count(), writes.percentile(99), failures);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-9s %8d %14.0f %10d %10d %10d %12d %12d %9d",
+                kind, threads, readsPerSecond, reads.percentile(50), reads.percentile(99),
+                reads.percentile(99.9), writes.count(), writes.percentile(99), failures);
+        }
+    }
+}
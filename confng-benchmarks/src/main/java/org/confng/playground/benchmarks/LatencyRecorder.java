@@ -0,0 +1,102 @@
+package org.confng.playground.benchmarks;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, log-linear latency histogram.
+ *
+ * <p>Values below 32 ns are counted exactly; above that every power of two is split into
+ * 16 buckets, so any recorded value is reported with at most ~6% error. Recording is a
+ * single atomic increment and never allocates, which keeps the recorder out of the
+ * latencies it measures.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+public final class LatencyRecorder {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos the latency in nanoseconds, negative values are counted as 0
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(bucketOf(Math.max(0, nanos)));
+    }
+
+    /**
+     * Adds all counts of another recorder to this one.
+     *
+     * @param other the recorder to merge
+     */
+    public void add(LatencyRecorder other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return the total count
+     */
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Gets the latency at the given percentile.
+     *
+     * @param percentile the percentile, e.g. 99.9
+     * @return the upper bound of the bucket holding the percentile, in nanoseconds, or 0 if empty
+     */
+    public long percentile(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(BUCKETS - 1);
+    }
+
+    private static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int shift = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,43 @@
+package org.confng.playground.benchmarks;
+
+import org.confng.sources.ConfigSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Fixed in-memory source with a name and priority, shared by the registry benchmark and
+ * its tests.
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+final class MapSource implements ConfigSource {
+
+    private final String name;
+    private final int priority;
+    private final Map<String, String> values;
+
+    MapSource(String name, int priority, Map<String, String> values) {
+        this.name = name;
+        this.priority = priority;
+        this.values = new HashMap<>(values);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(values.get(key));
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+}
@@ -0,0 +1,104 @@
+package org.confng.playground.benchmarks;
+
+import org.confng.ConfNG;
+import org.confng.ConfigSourceInfo;
+import org.confng.ValidationResult;
+import org.confng.api.ConfNGKey;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the core ConfNG lookup API against every source type in the playground.
+ *
+ * <p>Replaces wall-clock loops timed with {@code System.nanoTime}: JMH takes care of JIT
+ * warmup, dead-code elimination and forking, and the {@code jmh} task writes the results
+ * as JSON for regression tracking.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SourceLookupBenchmark {
+
+    @Param({
+        BenchmarkSources.YAML,
+        BenchmarkSources.JSON,
+        BenchmarkSources.PROPERTIES,
+        BenchmarkSources.ENV,
+        BenchmarkSources.SYSTEM,
+        BenchmarkSources.TOML
+    })
+    public String source;
+
+    private ConfNGKey appName;
+    private ConfNGKey poolMaxSize;
+    private ConfNGKey missing;
+    private ConfNGKey[] allKeys;
+    private String databasePrefix;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        appName = BenchmarkKey.of(source, "app.name", "Default Benchmark");
+        poolMaxSize = BenchmarkKey.of(source, "database.pool.maxSize", "10");
+        missing = BenchmarkKey.of(source, "missing.key", "fallback-value");
+        allKeys = new ConfNGKey[] {
+            appName,
+            BenchmarkKey.of(source, "app.version", "0.0.1"),
+            BenchmarkKey.of(source, "database.url", null),
+            BenchmarkKey.of(source, "database.username", null),
+            poolMaxSize,
+            BenchmarkKey.of(source, "database.pool.minSize", "1"),
+            BenchmarkKey.of(source, "database.pool.timeout", "5000"),
+            missing
+        };
+        databasePrefix = source + ".database.";
+
+        BenchmarkSources.register(source);
+        if (ConfNG.getSourceInfo(appName).isFromDefault()) {
+            throw new IllegalStateException("Scenario '" + source + "' did not provide " + appName.getKey());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkSources.unregister(source);
+    }
+
+    @Benchmark
+    public String get() {
+        return ConfNG.get(appName);
+    }
+
+    @Benchmark
+    public Integer getInt() {
+        return ConfNG.getInt(poolMaxSize);
+    }
+
+    @Benchmark
+    public String getDefault() {
+        return ConfNG.get(missing);
+    }
+
+    @Benchmark
+    public Map<String, String> getByPrefix() {
+        return ConfNG.getByPrefix(databasePrefix);
+    }
+
+    @Benchmark
+    public ConfigSourceInfo getSourceInfo() {
+        return ConfNG.getSourceInfo(appName);
+    }
+
+    @Benchmark
+    public ValidationResult validate() {
+        return ConfNG.validate(allKeys);
+    }
+}
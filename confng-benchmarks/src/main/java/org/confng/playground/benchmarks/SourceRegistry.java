@@ -0,0 +1,191 @@
+package org.confng.playground.benchmarks;
+
+import org.confng.sources.ConfigSource;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Copy-on-write registry of configuration sources, modelled on the source list behind
+ * {@code ConfNG.addSource} and {@code ConfNG.clearSourcesAndUseDefaults}.
+ *
+ * <p>The sources are kept in an immutable array sorted by priority, highest first, and
+ * published through a single {@link AtomicReference}. A lookup reads the reference once
+ * and walks that array without taking a lock, so it always sees one consistent list:
+ * either the one before or the one after a concurrent change, never a half-updated or
+ * empty one. Every change builds a new array and swaps it in with a compare-and-set,
+ * retrying if another writer got there first. Writes cost a copy of the list, which is
+ * fine for the handful of sources a configuration has and the rare reloads it sees.</p>
+ *
+ * <p>Sources with the same priority keep their registration order.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+public final class SourceRegistry {
+
+    private static final ConfigSource[] EMPTY = new ConfigSource[0];
+    private static final Comparator<ConfigSource> BY_PRIORITY =
+        Comparator.comparingInt(ConfigSource::getPriority).reversed();
+
+    private final AtomicReference<ConfigSource[]> sources = new AtomicReference<>(EMPTY);
+
+    /**
+     * Creates an empty registry.
+     */
+    public SourceRegistry() {
+    }
+
+    /**
+     * Creates a registry with initial sources.
+     *
+     * @param initial the sources, in registration order
+     */
+    public SourceRegistry(Collection<? extends ConfigSource> initial) {
+        sources.set(sorted(initial.toArray(EMPTY)));
+    }
+
+    /**
+     * Looks up a key in the sources, highest priority first.
+     *
+     * @param key the configuration key
+     * @return the value of the first source that has the key, or empty
+     */
+    public Optional<String> get(String key) {
+        for (ConfigSource source : sources.get()) {
+            Optional<String> value = source.get(key);
+            if (value.isPresent()) {
+                return value;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the source a key would be read from.
+     *
+     * @param key the configuration key
+     * @return the highest-priority source that has the key, or empty
+     */
+    public Optional<ConfigSource> findSource(String key) {
+        for (ConfigSource source : sources.get()) {
+            if (source.get(key).isPresent()) {
+                return Optional.of(source);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the sources as of this call; later changes are not reflected.
+     *
+     * @return an unmodifiable list of the sources, highest priority first
+     */
+    public List<ConfigSource> getSources() {
+        return Collections.unmodifiableList(Arrays.asList(sources.get()));
+    }
+
+    /**
+     * Gets the number of registered sources.
+     *
+     * @return the source count
+     */
+    public int size() {
+        return sources.get().length;
+    }
+
+    /**
+     * Adds a source after every registered source with the same or a higher priority.
+     *
+     * @param source the source
+     */
+    public void add(ConfigSource source) {
+        Objects.requireNonNull(source, "source");
+        update(current -> {
+            int index = 0;
+            while (index < current.length && current[index].getPriority() >= source.getPriority()) {
+                index++;
+            }
+            ConfigSource[] next = new ConfigSource[current.length + 1];
+            System.arraycopy(current, 0, next, 0, index);
+            next[index] = source;
+            System.arraycopy(current, index, next, index + 1, current.length - index);
+            return next;
+        });
+    }
+
+    /**
+     * Removes a source.
+     *
+     * @param source the source, compared by identity
+     * @return true if the source was registered
+     */
+    public boolean remove(ConfigSource source) {
+        ConfigSource[] previous = update(current -> {
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == source) {
+                    ConfigSource[] next = new ConfigSource[current.length - 1];
+                    System.arraycopy(current, 0, next, 0, i);
+                    System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                    return next;
+                }
+            }
+            return current;
+        });
+        for (ConfigSource registered : previous) {
+            if (registered == source) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replaces all sources at once, like {@code ConfNG.clearSourcesAndUseDefaults} followed
+     * by {@code addSource} calls. Readers see either the old or the new sources, never an
+     * empty registry in between.
+     *
+     * @param replacement the new sources, in registration order
+     */
+    public void replaceAll(Collection<? extends ConfigSource> replacement) {
+        sources.set(sorted(replacement.toArray(EMPTY)));
+    }
+
+    /**
+     * Removes all sources.
+     */
+    public void clear() {
+        sources.set(EMPTY);
+    }
+
+    /**
+     * Applies a change with compare-and-set until no other writer interferes.
+     *
+     * @return the array the change was applied to
+     */
+    private ConfigSource[] update(UnaryOperator<ConfigSource[]> change) {
+        while (true) {
+            ConfigSource[] current = sources.get();
+            ConfigSource[] next = change.apply(current);
+            if (next == current || sources.compareAndSet(current, next)) {
+                return current;
+            }
+        }
+    }
+
+    private static ConfigSource[] sorted(ConfigSource[] array) {
+        for (ConfigSource source : array) {
+            Objects.requireNonNull(source, "source");
+        }
+        Arrays.sort(array, BY_PRIORITY); // Stable, so equal priorities keep their order
+        return array;
+    }
+}
@@ -0,0 +1,179 @@
+package org.confng.playground.benchmarks;
+
+import org.confng.sources.ConfigSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * JMH benchmarks for reading from a source registry while another thread changes it.
+ *
+ * <p>Each {@code registry} is measured in two groups with the same three reader threads:
+ * {@code readOnly}, where nothing changes, and {@code readWhileWriting}, where a fourth
+ * thread keeps adding and removing a source. The writer parks for
+ * {@code writeIntervalMicros} before every change instead of spinning, so on machines
+ * with few cores it does not simply take CPU time away from the readers. Comparing the
+ * {@code readOnly:read} score with the {@code readWhileWriting:readWithWriter} score
+ * shows how much a busy writer costs the readers:</p>
+ * <ul>
+ *   <li>{@code copyOnWrite} - {@link SourceRegistry}; readers walk an immutable array and
+ *       should keep their throughput</li>
+ *   <li>{@code synchronized} - a sorted list guarded by one lock, the way
+ *       {@code ConfNG.addSource} and the lookups share the source list; readers queue
+ *       behind the writer and each other</li>
+ * </ul>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SourceRegistryBenchmark {
+
+    private static final String[] KEYS = {"app.name", "database.url", "database.pool.maxSize", "missing.key"};
+
+    @Param({"copyOnWrite", "synchronized"})
+    public String registry;
+
+    /** Pause before every write, so the writer does not take CPU time away from the readers. */
+    @Param({"10"})
+    public long writeIntervalMicros;
+
+    private Registry sources;
+    private ConfigSource churn;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<ConfigSource> initial = List.of(
+            new MapSource("Environment", 60, Map.of("database.url", "jdbc:postgresql://env/app")),
+            new MapSource("SystemProperties", 50, Map.of("app.name", "ConfNG Registry Benchmark")),
+            new MapSource("Properties(bench.properties)", 30, Map.of(
+                "app.name", "from properties",
+                "database.url", "jdbc:h2:mem:bench",
+                "database.pool.maxSize", "25")),
+            new MapSource("Json(bench.json)", 30, Map.of("database.pool.minSize", "5")));
+        sources = "copyOnWrite".equals(registry) ? new CopyOnWrite(initial) : new Locked(initial);
+        churn = new MapSource("Reloaded", 40, Map.of("database.pool.maxSize", "50"));
+    }
+
+    @Benchmark
+    @Group("readOnly")
+    @GroupThreads(3)
+    public String read(ReaderState reader) {
+        return sources.get(reader.nextKey()).orElse(null);
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(3)
+    public String readWithWriter(ReaderState reader) {
+        return sources.get(reader.nextKey()).orElse(null);
+    }
+
+    @Benchmark
+    @Group("readWhileWriting")
+    @GroupThreads(1)
+    public boolean write() {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(writeIntervalMicros));
+        sources.add(churn);
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(writeIntervalMicros));
+        return sources.remove(churn);
+    }
+
+    /**
+     * Cycles every reader through the keys, including one that falls through every source.
+     */
+    @State(Scope.Thread)
+    public static class ReaderState {
+
+        private int next;
+
+        String nextKey() {
+            String key = KEYS[next];
+            next = (next + 1) % KEYS.length;
+            return key;
+        }
+    }
+
+    /**
+     * The operations the benchmark needs from both registries.
+     */
+    private interface Registry {
+
+        Optional<String> get(String key);
+
+        void add(ConfigSource source);
+
+        boolean remove(ConfigSource source);
+    }
+
+    private static final class CopyOnWrite implements Registry {
+
+        private final SourceRegistry registry;
+
+        private CopyOnWrite(List<ConfigSource> initial) {
+            this.registry = new SourceRegistry(initial);
+        }
+
+        @Override
+        public Optional<String> get(String key) {
+            return registry.get(key);
+        }
+
+        @Override
+        public void add(ConfigSource source) {
+            registry.add(source);
+        }
+
+        @Override
+        public boolean remove(ConfigSource source) {
+            return registry.remove(source);
+        }
+    }
+
+    /**
+     * One lock around a list that is re-sorted on every registration.
+     */
+    private static final class Locked implements Registry {
+
+        private final List<ConfigSource> sources;
+
+        private Locked(List<ConfigSource> initial) {
+            this.sources = new ArrayList<>(initial);
+            this.sources.sort(Comparator.comparingInt(ConfigSource::getPriority).reversed());
+        }
+
+        @Override
+        public synchronized Optional<String> get(String key) {
+            for (ConfigSource source : sources) {
+                Optional<String> value = source.get(key);
+                if (value.isPresent()) {
+                    return value;
+                }
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        public synchronized void add(ConfigSource source) {
+            sources.add(source);
+            sources.sort(Comparator.comparingInt(ConfigSource::getPriority).reversed());
+        }
+
+        @Override
+        public synchronized boolean remove(ConfigSource source) {
+            return sources.remove(source);
+        }
+    }
+}
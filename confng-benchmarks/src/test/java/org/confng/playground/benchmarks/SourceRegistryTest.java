@@ -0,0 +1,209 @@
+package org.confng.playground.benchmarks;
+
+import org.confng.sources.ConfigSource;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.testng.Assert.*;
+
+/**
+ * Test class for the copy-on-write source registry.
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+public class SourceRegistryTest {
+
+    @Test
+    public void testSourcesAreOrderedByPriority() {
+        MapSource low = new MapSource("low", 10, Map.of("app.name", "low"));
+        MapSource firstHigh = new MapSource("firstHigh", 50, Map.of("app.name", "firstHigh"));
+        MapSource middle = new MapSource("middle", 30, Map.of("app.name", "middle", "database.url", "middle"));
+        MapSource secondHigh = new MapSource("secondHigh", 50, Map.of("app.name", "secondHigh"));
+
+        SourceRegistry registry = new SourceRegistry(List.of(low, firstHigh));
+        registry.add(middle);
+        registry.add(secondHigh);
+
+        // Equal priorities keep their registration order
+        assertEquals(registry.getSources(), List.of(firstHigh, secondHigh, middle, low));
+        assertEquals(registry.size(), 4);
+        assertEquals(registry.get("app.name").orElse(null), "firstHigh");
+        assertEquals(registry.get("database.url").orElse(null), "middle");
+        assertSame(registry.findSource("database.url").orElse(null), middle);
+        assertFalse(registry.get("missing.key").isPresent());
+        assertFalse(registry.findSource("missing.key").isPresent());
+    }
+
+    @Test
+    public void testConstructorKeepsOrderOfEqualPriorities() {
+        MapSource first = new MapSource("first", 30, Map.of());
+        MapSource second = new MapSource("second", 30, Map.of());
+        MapSource third = new MapSource("third", 30, Map.of());
+
+        SourceRegistry registry = new SourceRegistry(List.of(first, second, third));
+
+        assertEquals(registry.getSources(), List.of(first, second, third));
+    }
+
+    @Test
+    public void testRemoveComparesByIdentity() {
+        EqualSource registered = new EqualSource("registered");
+        EqualSource lookalike = new EqualSource("lookalike");
+        assertEquals(registered, lookalike, "The sources must be equal for this test");
+        SourceRegistry registry = new SourceRegistry(List.of(registered));
+
+        assertFalse(registry.remove(lookalike));
+        assertEquals(registry.getSources(), List.of(registered));
+
+        assertTrue(registry.remove(registered));
+        assertFalse(registry.remove(registered), "A source that is no longer registered cannot be removed");
+        assertEquals(registry.size(), 0);
+    }
+
+    @Test
+    public void testRemoveTakesOutOneRegistration() {
+        MapSource source = new MapSource("twice", 30, Map.of("app.name", "twice"));
+        SourceRegistry registry = new SourceRegistry();
+        registry.add(source);
+        registry.add(source);
+
+        assertTrue(registry.remove(source));
+        assertEquals(registry.getSources(), List.of(source));
+    }
+
+    @Test
+    public void testReplaceAllAndClear() {
+        MapSource old = new MapSource("old", 50, Map.of("app.name", "old"));
+        MapSource low = new MapSource("low", 10, Map.of("app.name", "low"));
+        MapSource high = new MapSource("high", 60, Map.of("app.name", "high"));
+        SourceRegistry registry = new SourceRegistry(List.of(old));
+        List<ConfigSource> before = registry.getSources();
+
+        registry.replaceAll(List.of(low, high));
+
+        assertEquals(registry.getSources(), List.of(high, low));
+        assertEquals(registry.get("app.name").orElse(null), "high");
+        assertEquals(before, List.of(old), "Earlier lists are not changed");
+        assertThrows(UnsupportedOperationException.class, () -> before.add(high));
+
+        registry.clear();
+
+        assertEquals(registry.size(), 0);
+        assertTrue(registry.getSources().isEmpty());
+        assertFalse(registry.get("app.name").isPresent());
+        assertFalse(registry.remove(high));
+    }
+
+    @Test
+    public void testNullSourcesAreRejected() {
+        SourceRegistry registry = new SourceRegistry();
+
+        assertThrows(NullPointerException.class, () -> registry.add(null));
+        assertThrows(NullPointerException.class, () -> registry.replaceAll(Arrays.asList(
+            new MapSource("valid", 10, Map.of()), null)));
+        assertEquals(registry.size(), 0);
+    }
+
+    @Test
+    public void testConcurrentAddAndRemove() throws Exception {
+        int writers = 4;
+        int rounds = 2_000;
+        MapSource base = new MapSource("base", 10, Map.of("app.name", "base"));
+        SourceRegistry registry = new SourceRegistry(List.of(base));
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    while (running.get()) {
+                        // Every list a reader sees is sorted and still has the base source
+                        List<ConfigSource> sources = registry.getSources();
+                        for (int j = 1; j < sources.size(); j++) {
+                            assertTrue(sources.get(j - 1).getPriority() >= sources.get(j).getPriority());
+                        }
+                        assertSame(sources.get(sources.size() - 1), base);
+                        assertTrue(registry.get("app.name").isPresent());
+                    }
+                    return null;
+                }));
+            }
+
+            List<Future<?>> results = new ArrayList<>();
+            for (int writer = 0; writer < writers; writer++) {
+                int id = writer;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < rounds; round++) {
+                        MapSource source = new MapSource("writer-" + id + "-" + round, 20 + id, Map.of("app.name", "writer"));
+                        registry.add(source);
+                        assertTrue(registry.getSources().contains(source));
+                        assertTrue(registry.remove(source), "A concurrent writer lost " + source.getName());
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+            running.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+
+        assertEquals(registry.getSources(), List.of(base));
+    }
+
+    /**
+     * A source that is equal to every other instance, to tell identity from equality.
+     */
+    private static final class EqualSource implements ConfigSource {
+
+        private final String name;
+
+        private EqualSource(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Optional<String> get(String key) {
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof EqualSource;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package org.confng.playground.testng;
+
+import org.confng.ConfNG;
+import org.confng.ConfigSourceInfo;
+import org.confng.api.ConfNGKey;
+import org.confng.sources.ConfigSource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable, typed view of a set of configuration keys resolved in one go.
+ *
+ * <p>Startup code and tests often read a whole configuration enum key by key, walking the
+ * full source chain once per key. A snapshot resolves every key up front instead:</p>
+ * <ul>
+ *   <li>{@link #of(Collection, Class)} and {@link #of(Collection, ConfNGKey...)} resolve
+ *       against explicit sources with one pass per source, highest priority first. Keys
+ *       found in a source are not probed again in lower-priority sources, and the passes
+ *       stop as soon as every key is resolved. {@link #defaultSources()} gives the
+ *       environment variable and system property sources ConfNG starts with.</li>
+ *   <li>{@link #fromConfNG(ConfNGKey...)} is not a bulk resolution: ConfNG does not expose
+ *       its source list, so it resolves key by key through
+ *       {@link ConfNG#getAllSourceInfo(ConfNGKey...)} and only saves the later lookups. Use
+ *       it when the snapshot must see every source registered with ConfNG.</li>
+ * </ul>
+ *
+ * <p>Values never change after the snapshot is created; take a new snapshot after the
+ * sources change.</p>
+ *
+ * <p>The display form of every key, masked for sensitive keys like
+ * {@code ConfNG.getForDisplay}, is computed once when the snapshot is built.
+ * {@link #getForDisplay(ConfNGKey)}, {@link #getDisplayTable()} and
+ * {@link #toDisplayString()} then serve logging and diagnostics without resolving or
+ * masking anything per call.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0.1
+ * @since 2025
+ */
+public final class ConfigSnapshot {
+
+    private static final String DEFAULT_SOURCE = "Default";
+
+    private static final List<ConfigSource> DEFAULT_SOURCES = List.of(new EnvironmentSource(), new SystemPropertySource());
+
+    /** Display form of sensitive values, the same as {@code ConfNG.getForDisplay}. */
+    static final String MASKED = "***MASKED***";
+
+    private final Map<String, Entry> entries;
+    private final Map<String, String> displayTable;
+    private volatile String displayString;
+
+    private ConfigSnapshot(Map<String, Entry> entries) {
+        this.entries = Collections.unmodifiableMap(entries);
+        Map<String, String> display = new LinkedHashMap<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            display.put(entry.getKey(), entry.getValue().display);
+        }
+        this.displayTable = Collections.unmodifiableMap(display);
+    }
+
+    /**
+     * Resolves every constant of a configuration enum against explicit sources, one pass
+     * per source.
+     *
+     * @param sources the sources to resolve against, e.g. {@link #defaultSources()}
+     * @param keyType the enum class, e.g. {@code DatabaseConfig.class}
+     * @param <E> the enum type
+     * @return the snapshot
+     * @see #of(Collection, ConfNGKey...)
+     */
+    public static <E extends Enum<E> & ConfNGKey> ConfigSnapshot of(Collection<? extends ConfigSource> sources,
+                                                                     Class<E> keyType) {
+        return of(sources, keyType.getEnumConstants());
+    }
+
+    /**
+     * Resolves the given keys through ConfNG's registered sources, key by key.
+     *
+     * <p>This delegates to {@link ConfNG#getAllSourceInfo(ConfNGKey...)}, which walks every
+     * source for every key; the snapshot only makes the reads after it free.</p>
+     *
+     * @param keys the keys to resolve, e.g. {@code MultiSourceConfig.values()}
+     * @return the snapshot
+     */
+    public static ConfigSnapshot fromConfNG(ConfNGKey... keys) {
+        Map<String, ConfigSourceInfo> infos = ConfNG.getAllSourceInfo(keys);
+
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        for (ConfNGKey key : keys) {
+            ConfigSourceInfo info = infos.get(key.getKey());
+            if (info == null || info.getValue() == null) {
+                entries.put(key.getKey(), new Entry(null, null, key.isSensitive()));
+            } else {
+                entries.put(key.getKey(), new Entry(info.getValue(), info.getSourceName(), key.isSensitive()));
+            }
+        }
+        return new ConfigSnapshot(entries);
+    }
+
+    /**
+     * Resolves the given keys against explicit sources, one pass per source.
+     *
+     * <p>Sources are visited by descending {@link ConfigSource#getPriority()}; sources with
+     * equal priority keep their order. Keys missing from every source fall back to their
+     * default value.</p>
+     *
+     * @param sources the sources to resolve against
+     * @param keys the keys to resolve
+     * @return the snapshot
+     */
+    public static ConfigSnapshot of(Collection<? extends ConfigSource> sources, ConfNGKey... keys) {
+        List<ConfigSource> ordered = new ArrayList<>(sources);
+        ordered.sort(Comparator.comparingInt(ConfigSource::getPriority).reversed());
+
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        List<ConfNGKey> pending = new ArrayList<>(List.of(keys));
+        for (ConfigSource source : ordered) {
+            if (pending.isEmpty()) {
+                break;
+            }
+
+            List<ConfNGKey> missing = new ArrayList<>(pending.size());
+            for (ConfNGKey key : pending) {
+                String value = source.get(key.getKey()).orElse(null);
+                if (value != null) {
+                    entries.put(key.getKey(), new Entry(value, source.getName(), key.isSensitive()));
+                } else {
+                    missing.add(key);
+                }
+            }
+            pending = missing;
+        }
+
+        for (ConfNGKey key : pending) {
+            String defaultValue = key.getDefaultValue();
+            entries.put(key.getKey(),
+                new Entry(defaultValue, defaultValue == null ? null : DEFAULT_SOURCE, key.isSensitive()));
+        }
+
+        // Keep the caller's key order regardless of which pass resolved a key
+        Map<String, Entry> requested = new LinkedHashMap<>();
+        for (ConfNGKey key : keys) {
+            requested.put(key.getKey(), entries.get(key.getKey()));
+        }
+        return new ConfigSnapshot(requested);
+    }
+
+    /**
+     * Gets sources that match the ones ConfNG registers by default: environment variables
+     * (priority 60, {@code app.name} read as {@code APP_NAME}) and system properties (50).
+     * Both read the current values of the JVM when a snapshot is taken.
+     *
+     * @return an unmodifiable list of the two sources
+     */
+    public static List<ConfigSource> defaultSources() {
+        return DEFAULT_SOURCES;
+    }
+
+    /**
+     * Gets the resolved value of a key.
+     *
+     * @param key the configuration key
+     * @return the value, or null if the key has no value and no default
+     * @throws IllegalArgumentException if the key is not part of this snapshot
+     */
+    public String get(ConfNGKey key) {
+        return entry(key).value;
+    }
+
+    /**
+     * Gets the resolved value of a key as an integer.
+     *
+     * @param key the configuration key
+     * @return the value, or null if the key has no value
+     * @throws IllegalArgumentException if the key is not part of this snapshot or the value is not an integer
+     */
+    public Integer getInt(ConfNGKey key) {
+        Entry entry = entry(key);
+        return converted(key, entry, entry.intValue, "integer");
+    }
+
+    /**
+     * Gets the resolved value of a key as a long.
+     *
+     * @param key the configuration key
+     * @return the value, or null if the key has no value
+     * @throws IllegalArgumentException if the key is not part of this snapshot or the value is not a long
+     */
+    public Long getLong(ConfNGKey key) {
+        Entry entry = entry(key);
+        return converted(key, entry, entry.longValue, "long");
+    }
+
+    /**
+     * Gets the resolved value of a key as a boolean.
+     *
+     * @param key the configuration key
+     * @return the value, or null if the key has no value
+     * @throws IllegalArgumentException if the key is not part of this snapshot or the value is not "true"/"false"
+     */
+    public Boolean getBoolean(ConfNGKey key) {
+        Entry entry = entry(key);
+        return converted(key, entry, entry.booleanValue, "boolean");
+    }
+
+    /**
+     * Gets the name of the source that provided a key's value.
+     *
+     * @param key the configuration key
+     * @return the source name, "Default" for default values, or null if the key has no value
+     * @throws IllegalArgumentException if the key is not part of this snapshot
+     */
+    public String getSourceName(ConfNGKey key) {
+        return entry(key).sourceName;
+    }
+
+    /**
+     * Gets the display form of a key's value.
+     *
+     * @param key the configuration key
+     * @return {@value #MASKED} for sensitive keys with a value, otherwise the value itself
+     * @throws IllegalArgumentException if the key is not part of this snapshot
+     */
+    public String getForDisplay(ConfNGKey key) {
+        return entry(key).display;
+    }
+
+    /**
+     * Gets the display form of every key, e.g. to attach to a structured log event.
+     *
+     * @return an unmodifiable map of key names to display values, in request order
+     */
+    public Map<String, String> getDisplayTable() {
+        return displayTable;
+    }
+
+    /**
+     * Formats all keys as {@code key = value} lines with sensitive values masked. The text
+     * is built on first use and then reused.
+     *
+     * @return the display text
+     */
+    public String toDisplayString() {
+        String text = displayString;
+        if (text == null) {
+            StringBuilder builder = new StringBuilder();
+            for (Map.Entry<String, String> entry : displayTable.entrySet()) {
+                builder.append(entry.getKey()).append(" = ").append(entry.getValue()).append('\n');
+            }
+            text = builder.toString();
+            displayString = text; // Benign race: every thread builds the same text
+        }
+        return text;
+    }
+
+    /**
+     * Checks whether a key is part of this snapshot.
+     *
+     * @param key the configuration key
+     * @return true if the key was resolved by this snapshot
+     */
+    public boolean contains(ConfNGKey key) {
+        return entries.containsKey(key.getKey());
+    }
+
+    /**
+     * Gets all keys of this snapshot in the order they were requested.
+     *
+     * @return an unmodifiable set of key names
+     */
+    public Set<String> keys() {
+        return entries.keySet();
+    }
+
+    private Entry entry(ConfNGKey key) {
+        Entry entry = entries.get(key.getKey());
+        if (entry == null) {
+            throw new IllegalArgumentException("Key is not part of this snapshot: " + key.getKey());
+        }
+        return entry;
+    }
+
+    private static <T> T converted(ConfNGKey key, Entry entry, T value, String type) {
+        if (value == null && entry.value != null) {
+            throw new IllegalArgumentException(
+                "Value of " + key.getKey() + " is not a valid " + type + ": " + entry.value);
+        }
+        return value;
+    }
+
+    /**
+     * Environment variables, looked up under the {@code UPPER_SNAKE} form of a key.
+     */
+    private static final class EnvironmentSource implements ConfigSource {
+
+        @Override
+        public String getName() {
+            return "Environment";
+        }
+
+        @Override
+        public Optional<String> get(String key) {
+            return Optional.ofNullable(System.getenv(key.toUpperCase(Locale.ROOT).replace('.', '_')));
+        }
+
+        @Override
+        public int getPriority() {
+            return 60;
+        }
+    }
+
+    /**
+     * System properties, looked up under the key itself.
+     */
+    private static final class SystemPropertySource implements ConfigSource {
+
+        @Override
+        public String getName() {
+            return "SystemProperties";
+        }
+
+        @Override
+        public Optional<String> get(String key) {
+            return Optional.ofNullable(System.getProperty(key));
+        }
+
+        @Override
+        public int getPriority() {
+            return 50;
+        }
+    }
+
+    /**
+     * A resolved key with its typed and display forms, computed once when the snapshot is built.
+     */
+    private static final class Entry {
+
+        private final String value;
+        private final String sourceName;
+        private final String display;
+        private final Integer intValue;
+        private final Long longValue;
+        private final Boolean booleanValue;
+
+        private Entry(String value, String sourceName, boolean sensitive) {
+            this.value = value;
+            this.sourceName = sourceName;
+            this.display = sensitive && value != null ? MASKED : value;
+            this.intValue = parse(value, Integer::valueOf);
+            this.longValue = parse(value, Long::valueOf);
+            this.booleanValue = parseBoolean(value);
+        }
+
+        private static <T> T parse(String value, Function<String, T> parser) {
+            if (value == null) {
+                return null;
+            }
+            String trimmed = value.trim();
+            if (!isInteger(trimmed)) {
+                return null; // Most values are not numbers; skip the exception path for them
+            }
+            try {
+                return parser.apply(trimmed);
+            } catch (NumberFormatException e) {
+                return null; // Out of range
+            }
+        }
+
+        private static boolean isInteger(String value) {
+            int start = value.startsWith("-") || value.startsWith("+") ? 1 : 0;
+            if (value.length() == start) {
+                return false;
+            }
+            for (int i = start; i < value.length(); i++) {
+                if (!Character.isDigit(value.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Boolean parseBoolean(String value) {
+            if (value == null) {
+                return null;
+            }
+            value = value.trim();
+            if ("true".equalsIgnoreCase(value)) {
+                return Boolean.TRUE;
+            } else if ("false".equalsIgnoreCase(value)) {
+                return Boolean.FALSE;
+            }
+            return null;
+        }
+    }
+}
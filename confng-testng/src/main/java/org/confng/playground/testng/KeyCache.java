@@ -0,0 +1,366 @@
+package org.confng.playground.testng;
+
+import org.confng.ConfNG;
+import org.confng.ConfigSourceInfo;
+import org.confng.api.ConfNGKey;
+import org.confng.sources.ConfigSource;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Resolved-value cache for enum-based configuration keys.
+ *
+ * <p>All configuration keys in the playground are enums implementing {@link ConfNGKey}.
+ * This cache keeps one table per enum class, indexed by {@link Enum#ordinal()}, so a
+ * repeated {@code KeyCache.get(PerfConfig.PERF_TEST_KEY)} is an array load and one
+ * {@code System.getProperty} probe instead of a walk over every registered source.</p>
+ *
+ * <p>Keys that no source provides are remembered as well, so answering "not present"
+ * does not probe every source again. For enum keys this is part of the table; for other
+ * keys {@link #get(ConfNGKey)} keeps a bounded set of known misses and returns the
+ * default value directly. Other lookups of non-enum keys are passed to {@link ConfNG}
+ * unchanged.</p>
+ *
+ * <p>Every table and the set of misses are invalidated as a whole when the sources change:</p>
+ * <ul>
+ *   <li>through the {@link #addSource}, {@link #clearSourcesAndUseDefaults()} and
+ *       {@link #refresh()} wrappers,</li>
+ *   <li>when the version of a source that reloads on its own moves forward; register it
+ *       with {@link #addSource(ConfigSource, LongSupplier)}, e.g.
+ *       {@code KeyCache.addSource(source, reloads::get)},</li>
+ *   <li>when the system property of a cached key no longer has the value it had when the
+ *       key was resolved, so a plain {@code System.setProperty} is noticed as well, or</li>
+ *   <li>when {@link #invalidate()} is called after changing a source in any other way.</li>
+ * </ul>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0.1
+ * @since 2025
+ */
+public final class KeyCache {
+
+    private static final Object UNRESOLVED = new Object();
+    private static final Object NULL = new Object();
+
+    /** Upper bound for remembered misses of non-enum keys; further misses are not cached. */
+    static final int MAX_MISSES = 10_000;
+
+    private static volatile Sources sources = new Sources(new LongSupplier[0]);
+    private static volatile Misses misses = new Misses(null, 0);
+
+    private static final ClassValue<AtomicReference<Table>> TABLES = new ClassValue<>() {
+        @Override
+        protected AtomicReference<Table> computeValue(Class<?> type) {
+            // Stamped with no sources, so the first lookup replaces it
+            return new AtomicReference<>(new Table(null, 0, type.getEnumConstants().length));
+        }
+    };
+
+    private KeyCache() {
+    }
+
+    /**
+     * Gets the value of a key, resolving it through ConfNG on first access.
+     *
+     * @param key the configuration key
+     * @return the value, same as {@link ConfNG#get(ConfNGKey)}
+     */
+    public static String get(ConfNGKey key) {
+        if (!(key instanceof Enum<?>)) {
+            return getUncached(key);
+        }
+        return lookup(key, Slot.TEXT, ConfNG::get);
+    }
+
+    /**
+     * Checks whether any registered source provides a value for a key, ignoring defaults.
+     *
+     * @param key the configuration key
+     * @return true if a source has a value, false if the key falls through to its default
+     */
+    public static boolean isPresent(ConfNGKey key) {
+        if (!(key instanceof Enum<?>)) {
+            Misses current = misses(sources);
+            if (current.contains(key.getKey())) {
+                return false;
+            }
+            boolean present = resolvePresence(key);
+            if (!present) {
+                current.add(key.getKey());
+            }
+            return present;
+        }
+        return lookup(key, Slot.PRESENT, KeyCache::resolvePresence);
+    }
+
+    /**
+     * Gets the integer value of a key, converting it through ConfNG on first access.
+     *
+     * @param key the configuration key
+     * @return the value, same as {@link ConfNG#getInt(ConfNGKey)}
+     */
+    public static Integer getInt(ConfNGKey key) {
+        return lookup(key, Slot.INT, ConfNG::getInt);
+    }
+
+    /**
+     * Gets the long value of a key, converting it through ConfNG on first access.
+     *
+     * @param key the configuration key
+     * @return the value, same as {@link ConfNG#getLong(ConfNGKey)}
+     */
+    public static Long getLong(ConfNGKey key) {
+        return lookup(key, Slot.LONG, ConfNG::getLong);
+    }
+
+    /**
+     * Gets the boolean value of a key, converting it through ConfNG on first access.
+     *
+     * @param key the configuration key
+     * @return the value, same as {@link ConfNG#getBoolean(ConfNGKey)}
+     */
+    public static Boolean getBoolean(ConfNGKey key) {
+        return lookup(key, Slot.BOOLEAN, ConfNG::getBoolean);
+    }
+
+    /**
+     * Drops every cached value. The next lookup of each key resolves it again.
+     */
+    public static void invalidate() {
+        synchronized (KeyCache.class) {
+            sources = new Sources(sources.versions);
+        }
+    }
+
+    /**
+     * Adds a source to ConfNG and invalidates the cache.
+     *
+     * @param source the source to add
+     */
+    public static void addSource(ConfigSource source) {
+        ConfNG.addSource(source);
+        invalidate();
+    }
+
+    /**
+     * Adds a source that reloads on its own to ConfNG and invalidates the cache, and again
+     * every time the source's version moves forward.
+     *
+     * @param source the source to add
+     * @param version a counter of the source's reloads, which must never decrease, e.g.
+     *                {@code reloads::get} for an {@code AtomicLong} the source increments
+     */
+    public static void addSource(ConfigSource source, LongSupplier version) {
+        Objects.requireNonNull(version, "version");
+        ConfNG.addSource(source);
+        synchronized (KeyCache.class) {
+            LongSupplier[] current = sources.versions;
+            LongSupplier[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = version;
+            sources = new Sources(next);
+        }
+    }
+
+    /**
+     * Resets ConfNG to its default sources and invalidates the cache.
+     */
+    public static void clearSourcesAndUseDefaults() {
+        ConfNG.clearSourcesAndUseDefaults();
+        synchronized (KeyCache.class) {
+            sources = new Sources(new LongSupplier[0]);
+        }
+    }
+
+    /**
+     * Refreshes ConfNG and invalidates the cache.
+     */
+    public static void refresh() {
+        ConfNG.refresh();
+        invalidate();
+    }
+
+    private static String getUncached(ConfNGKey key) {
+        Misses current = misses(sources);
+        if (current.contains(key.getKey())) {
+            return key.getDefaultValue();
+        }
+
+        String value = ConfNG.get(key);
+        // Only a value equal to the default can be a miss; confirm before remembering it
+        if (Objects.equals(value, key.getDefaultValue()) && !resolvePresence(key)) {
+            current.add(key.getKey());
+        }
+        return value;
+    }
+
+    private static Boolean resolvePresence(ConfNGKey key) {
+        ConfigSourceInfo info = ConfNG.getSourceInfo(key);
+        return info.isFound() && !info.isFromDefault();
+    }
+
+    private static Misses misses(Sources current) {
+        long version = current.version();
+        Misses set = misses;
+        if (!set.isCurrent(current, version)) {
+            // Losing this race only drops misses recorded in the meantime
+            set = new Misses(current, version);
+            misses = set;
+        }
+        return set;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T lookup(ConfNGKey key, int slot, Function<ConfNGKey, T> resolver) {
+        if (!(key instanceof Enum<?> constant)) {
+            return resolver.apply(key);
+        }
+
+        Table table = table(constant.getDeclaringClass(), sources);
+        Object property = propertyOf(key);
+        Object seen = table.properties[constant.ordinal()];
+        if (seen == UNRESOLVED) {
+            table.properties[constant.ordinal()] = property;
+        } else if (!seen.equals(property)) {
+            // Changed by System.setProperty since the key was resolved
+            invalidate();
+            table = table(constant.getDeclaringClass(), sources);
+            table.properties[constant.ordinal()] = property;
+        }
+
+        int index = constant.ordinal() * Slot.COUNT + slot;
+        Object value = table.values[index];
+        if (value == UNRESOLVED) {
+            T resolved = resolver.apply(key);
+            value = resolved == null ? NULL : resolved;
+            // Racy publication is fine: values are immutable and a lost write is resolved again.
+            // A table that went stale meanwhile is never read again, so old values cannot leak.
+            table.values[index] = value;
+        }
+        return value == NULL ? null : (T) value;
+    }
+
+    /**
+     * Gets the system property of a key, read before resolving so a change made during
+     * the resolution is noticed by the next lookup.
+     */
+    private static Object propertyOf(ConfNGKey key) {
+        String property = System.getProperty(key.getKey());
+        return property == null ? NULL : property;
+    }
+
+    private static Table table(Class<?> enumClass, Sources current) {
+        AtomicReference<Table> reference = TABLES.get(enumClass);
+        long version = current.version();
+        Table table = reference.get();
+        while (!table.isCurrent(current, version)) {
+            Table fresh = new Table(current, version, table.values.length / Slot.COUNT);
+            if (reference.compareAndSet(table, fresh)) {
+                return fresh;
+            }
+            table = reference.get();
+        }
+        return table;
+    }
+
+    /**
+     * The registered sources as seen by the cache. Every change publishes a new instance
+     * through one volatile write, so a reader never combines the reload counters of one
+     * set of sources with another; cached data is only current for the instance it was
+     * resolved under.
+     */
+    private static final class Sources {
+
+        private final LongSupplier[] versions;
+
+        private Sources(LongSupplier[] versions) {
+            this.versions = versions;
+        }
+
+        /**
+         * Gets the sum of the reload counters, which only grows while these sources are registered.
+         */
+        private long version() {
+            long sum = 0;
+            for (LongSupplier version : versions) {
+                sum += version.getAsLong();
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Resolved values of one enum class for one version of the sources, with the system
+     * property each key had when it was first resolved.
+     */
+    private static final class Table {
+
+        private final Sources sources;
+        private final long version;
+        private final Object[] values;
+        private final Object[] properties;
+
+        private Table(Sources sources, long version, int constants) {
+            this.sources = sources;
+            this.version = version;
+            this.values = new Object[constants * Slot.COUNT];
+            this.properties = new Object[constants];
+            Arrays.fill(values, UNRESOLVED);
+            Arrays.fill(properties, UNRESOLVED);
+        }
+
+        private boolean isCurrent(Sources current, long currentVersion) {
+            // A higher version was read later, and every value in the table was resolved after that read
+            return sources == current && version >= currentVersion;
+        }
+    }
+
+    /**
+     * Keys of non-enum lookups that no source provided, for one version of the sources.
+     */
+    private static final class Misses {
+
+        private final Sources sources;
+        private final long version;
+        private final Set<String> keys = ConcurrentHashMap.newKeySet();
+
+        private Misses(Sources sources, long version) {
+            this.sources = sources;
+            this.version = version;
+        }
+
+        private boolean isCurrent(Sources current, long currentVersion) {
+            return sources == current && version >= currentVersion;
+        }
+
+        private boolean contains(String key) {
+            // A miss that has since been set through System.setProperty is no longer one
+            return keys.contains(key) && System.getProperty(key) == null;
+        }
+
+        private void add(String key) {
+            if (keys.size() < MAX_MISSES) {
+                keys.add(key);
+            }
+        }
+    }
+
+    /**
+     * Offsets of the typed values stored per key.
+     */
+    private static final class Slot {
+
+        private static final int TEXT = 0;
+        private static final int INT = 1;
+        private static final int LONG = 2;
+        private static final int BOOLEAN = 3;
+        private static final int PRESENT = 4;
+        private static final int COUNT = 5;
+    }
+}
@@ -14,7 +14,8 @@ import org.confng.api.ConfNGKey;
 public enum PerfConfig implements ConfNGKey {
     PERF_TEST_KEY("performance.testKey", "performance-test-value"),
     PERF_ITERATIONS("performance.iterations", "5"),
-    PERF_THRESHOLD_MS("performance.thresholdMs", "100");
+    PERF_THRESHOLD_MS("performance.thresholdMs", "100"),
+    PERF_ALLOCATION_BUDGET_BYTES("performance.allocationBudgetBytes", "512");
 
     private final String key;
     private final String defaultValue;
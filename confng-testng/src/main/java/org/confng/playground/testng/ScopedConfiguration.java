@@ -0,0 +1,322 @@
+package org.confng.playground.testng;
+
+import org.confng.api.ConfNGKey;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Configuration layered per scope over one shared, immutable base.
+ *
+ * <p>ConfNG keeps a single global configuration, so TestNG {@code <test>} blocks that set
+ * the same parameter to different values (e.g. {@code app.name} = {@code abcd} and
+ * {@code abcde} in {@code testng.xml}) overwrite each other when they run with
+ * {@code parallel="tests"}. This class keeps the shared part in a {@link ConfigSnapshot}
+ * that is never modified, and the values that differ per test in a {@link Scope}, one per
+ * owner (typically the {@code ITestContext}):</p>
+ * <ul>
+ *   <li>{@link #open(Object, String, Map)} creates the scope of an owner with its overrides</li>
+ *   <li>{@link #bind(Object)} makes that scope the current one of the calling thread, until
+ *       the returned {@link Binding} is closed</li>
+ *   <li>{@link #get(ConfNGKey)} and the typed getters read the current scope; threads
+ *       without a bound scope read the base</li>
+ * </ul>
+ *
+ * <p>Scopes are immutable, so a test thread only ever sees its own overrides and the
+ * shared base, and reads need no locking.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0.1
+ * @since 2025
+ */
+public final class ScopedConfiguration {
+
+    private final Scope base;
+    private final Map<Object, Scope> scopes = new ConcurrentHashMap<>();
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+    /**
+     * Creates a new ScopedConfiguration.
+     *
+     * @param base the values shared by every scope
+     */
+    public ScopedConfiguration(ConfigSnapshot base) {
+        this.base = new Scope("base", Objects.requireNonNull(base, "base"), Collections.emptyMap());
+    }
+
+    /**
+     * Opens the scope of an owner.
+     *
+     * @param owner the scope owner, e.g. the {@code ITestContext} of a {@code <test>}
+     * @param name the scope name, reported as source of overridden values
+     * @param overrides the values that replace base values in this scope
+     * @return the new scope
+     * @throws IllegalStateException if the owner already has an open scope
+     */
+    public Scope open(Object owner, String name, Map<String, String> overrides) {
+        Scope scope = new Scope(name, base.base, overrides);
+        if (scopes.putIfAbsent(owner, scope) != null) {
+            throw new IllegalStateException("Scope already open: " + name);
+        }
+        return scope;
+    }
+
+    /**
+     * Closes the scope of an owner. Threads that still have it bound keep reading it until
+     * their binding is closed.
+     *
+     * @param owner the scope owner
+     */
+    public void close(Object owner) {
+        scopes.remove(owner);
+    }
+
+    /**
+     * Gets the open scope of an owner.
+     *
+     * @param owner the scope owner
+     * @return the scope, or empty if none is open
+     */
+    public Optional<Scope> scope(Object owner) {
+        return Optional.ofNullable(scopes.get(owner));
+    }
+
+    /**
+     * Makes the scope of an owner the calling thread's current scope.
+     *
+     * @param owner the scope owner
+     * @return the binding, which restores the previous scope of the thread when closed
+     * @throws IllegalStateException if the owner has no open scope
+     */
+    public Binding bind(Object owner) {
+        Scope scope = scopes.get(owner);
+        if (scope == null) {
+            throw new IllegalStateException("No scope open for " + owner);
+        }
+        Scope previous = current.get();
+        current.set(scope);
+        return new Binding(scope, previous);
+    }
+
+    /**
+     * Gets the calling thread's current scope.
+     *
+     * @return the bound scope, or the base scope if none is bound
+     */
+    public Scope current() {
+        Scope scope = current.get();
+        return scope == null ? base : scope;
+    }
+
+    /**
+     * Gets the shared base values.
+     *
+     * @return the base snapshot
+     */
+    public ConfigSnapshot getBase() {
+        return base.base;
+    }
+
+    /**
+     * Gets a value from the calling thread's current scope.
+     *
+     * @param key the configuration key
+     * @return the value, or null if the key has no value and no default
+     */
+    public String get(ConfNGKey key) {
+        return current().get(key);
+    }
+
+    /**
+     * Gets a value from the calling thread's current scope as an integer.
+     *
+     * @param key the configuration key
+     * @return the value, or null if the key has no value
+     * @throws IllegalArgumentException if the value is not an integer
+     */
+    public Integer getInt(ConfNGKey key) {
+        return current().getInt(key);
+    }
+
+    /**
+     * Gets a value from the calling thread's current scope as a long.
+     *
+     * @param key the configuration key
+     * @return the value, or null if the key has no value
+     * @throws IllegalArgumentException if the value is not a long
+     */
+    public Long getLong(ConfNGKey key) {
+        return current().getLong(key);
+    }
+
+    /**
+     * Gets a value from the calling thread's current scope as a boolean.
+     *
+     * @param key the configuration key
+     * @return the value, or null if the key has no value
+     * @throws IllegalArgumentException if the value is not "true"/"false"
+     */
+    public Boolean getBoolean(ConfNGKey key) {
+        return current().getBoolean(key);
+    }
+
+    /**
+     * The overrides of one owner on top of the shared base.
+     */
+    public static final class Scope {
+
+        private final String name;
+        private final ConfigSnapshot base;
+        private final Map<String, String> overrides;
+
+        private Scope(String name, ConfigSnapshot base, Map<String, String> overrides) {
+            this.name = name;
+            this.base = base;
+            this.overrides = Collections.unmodifiableMap(new HashMap<>(overrides));
+        }
+
+        /**
+         * Gets the scope name.
+         *
+         * @return the name, e.g. the {@code <test>} name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the values this scope overrides.
+         *
+         * @return an unmodifiable map of keys to values
+         */
+        public Map<String, String> getOverrides() {
+            return overrides;
+        }
+
+        /**
+         * Gets a value: the override of this scope, else the base value, else the key's default.
+         *
+         * @param key the configuration key
+         * @return the value, or null if the key has no value and no default
+         */
+        public String get(ConfNGKey key) {
+            String value = overrides.get(key.getKey());
+            if (value != null) {
+                return value;
+            }
+            return base.contains(key) ? base.get(key) : key.getDefaultValue();
+        }
+
+        /**
+         * Gets a value as an integer.
+         *
+         * @param key the configuration key
+         * @return the value, or null if the key has no value
+         * @throws IllegalArgumentException if the value is not an integer
+         */
+        public Integer getInt(ConfNGKey key) {
+            String value = get(key);
+            try {
+                return value == null ? null : Integer.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                throw invalid(key, value, "integer");
+            }
+        }
+
+        /**
+         * Gets a value as a long.
+         *
+         * @param key the configuration key
+         * @return the value, or null if the key has no value
+         * @throws IllegalArgumentException if the value is not a long
+         */
+        public Long getLong(ConfNGKey key) {
+            String value = get(key);
+            try {
+                return value == null ? null : Long.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                throw invalid(key, value, "long");
+            }
+        }
+
+        /**
+         * Gets a value as a boolean.
+         *
+         * @param key the configuration key
+         * @return the value, or null if the key has no value
+         * @throws IllegalArgumentException if the value is not "true"/"false"
+         */
+        public Boolean getBoolean(ConfNGKey key) {
+            String value = get(key);
+            if (value == null) {
+                return null;
+            } else if ("true".equalsIgnoreCase(value.trim())) {
+                return Boolean.TRUE;
+            } else if ("false".equalsIgnoreCase(value.trim())) {
+                return Boolean.FALSE;
+            }
+            throw invalid(key, value, "boolean");
+        }
+
+        /**
+         * Gets the name of the source that provided a key's value.
+         *
+         * @param key the configuration key
+         * @return "Scope(name)" for overridden values, otherwise the source of the base
+         *         value, "Default" for default values, or null if the key has no value
+         */
+        public String getSourceName(ConfNGKey key) {
+            if (overrides.containsKey(key.getKey())) {
+                return "Scope(" + name + ")";
+            }
+            if (base.contains(key)) {
+                return base.getSourceName(key);
+            }
+            return key.getDefaultValue() == null ? null : "Default";
+        }
+
+        private static IllegalArgumentException invalid(ConfNGKey key, String value, String type) {
+            return new IllegalArgumentException("Value of " + key.getKey() + " is not a valid " + type + ": " + value);
+        }
+    }
+
+    /**
+     * A scope bound to a thread by {@link #bind(Object)}.
+     */
+    public final class Binding implements AutoCloseable {
+
+        private final Scope scope;
+        private final Scope previous;
+
+        private Binding(Scope scope, Scope previous) {
+            this.scope = scope;
+            this.previous = previous;
+        }
+
+        /**
+         * Gets the scope this binding made current.
+         *
+         * @return the bound scope
+         */
+        public Scope getScope() {
+            return scope;
+        }
+
+        /**
+         * Restores the scope the thread had before; must be called on the bound thread.
+         */
+        @Override
+        public void close() {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.confng.playground.testng;
+
+/**
+ * Allocation Meter measuring the bytes a single operation allocates on the calling thread.
+ *
+ * <p>Uses {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}, which counts
+ * every TLAB and out-of-TLAB allocation of the current thread. Unlike comparing
+ * {@code Runtime.totalMemory() - freeMemory()} around {@code System.gc()}, the result does
+ * not depend on when the collector runs, so even a few bytes per call are visible.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0.1
+ * @since 2025
+ */
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static volatile Object sink;
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * Returns whether the JVM supports per-thread allocation accounting.
+     */
+    static boolean isSupported() {
+        return THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Measures the average number of bytes allocated per invocation of the operation.
+     *
+     * <p>The operation is first run {@code warmupIterations} times so the JIT has compiled
+     * (and escape-analyzed) it; results are published to a volatile sink so the calls
+     * cannot be eliminated.</p>
+     *
+     * @param operation the operation to measure
+     * @param warmupIterations invocations before measuring
+     * @param iterations measured invocations
+     * @return the average number of bytes allocated per invocation
+     */
+    static double bytesPerOperation(Supplier<?> operation, int warmupIterations, int iterations) {
+        for (int i = 0; i < warmupIterations; i++) {
+            sink = operation.get();
+        }
+
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            sink = operation.get();
+        }
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+
+        return (double) allocated / iterations;
+    }
+}
@@ -0,0 +1,170 @@
+package org.confng.playground.testng;
+
+/**
+ * Config Snapshot Test verifying bulk resolution of configuration enums.
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0.1
+ * @since 2025
+ */
+
+import org.confng.ConfNG;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+@Test(groups = {"config-snapshot"})
+public class ConfigSnapshotTest {
+
+    @BeforeClass
+    public void setupDatabaseConfiguration() {
+        System.setProperty(DatabaseConfig.DB_URL.getKey(), "jdbc:h2:mem:snapshot");
+        System.setProperty(DatabaseConfig.DB_POOL_SIZE.getKey(), "12");
+    }
+
+    @Test
+    public void testSnapshotMatchesIndividualLookups() {
+        ConfigSnapshot snapshot = ConfigSnapshot.fromConfNG(DatabaseConfig.values());
+
+        for (DatabaseConfig key : DatabaseConfig.values()) {
+            assertEquals(snapshot.get(key), ConfNG.get(key), key.getKey());
+        }
+        assertEquals(snapshot.getInt(DatabaseConfig.DB_POOL_SIZE), Integer.valueOf(12));
+        assertEquals(snapshot.getSourceName(DatabaseConfig.DB_URL), ConfNG.getSourceInfo(DatabaseConfig.DB_URL).getSourceName());
+    }
+
+    @Test
+    public void testDefaultSourcesMatchConfNG() {
+        ConfigSnapshot snapshot = ConfigSnapshot.of(ConfigSnapshot.defaultSources(), DatabaseConfig.class);
+
+        for (DatabaseConfig key : DatabaseConfig.values()) {
+            assertEquals(snapshot.get(key), ConfNG.get(key), key.getKey());
+        }
+        assertEquals(snapshot.getSourceName(DatabaseConfig.DB_URL), "SystemProperties");
+    }
+
+    @Test
+    public void testSnapshotOfEnumClass() {
+        ConfigSnapshot snapshot = ConfigSnapshot.of(ConfigSnapshot.defaultSources(), PerfConfig.class);
+
+        assertEquals(snapshot.keys().size(), PerfConfig.values().length);
+        assertTrue(snapshot.contains(PerfConfig.PERF_ALLOCATION_BUDGET_BYTES));
+        assertFalse(snapshot.contains(DatabaseConfig.DB_URL));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.get(DatabaseConfig.DB_URL));
+    }
+
+    @Test
+    public void testSnapshotIsImmutable() {
+        ConfigSnapshot snapshot = ConfigSnapshot.of(ConfigSnapshot.defaultSources(), DatabaseConfig.class);
+
+        System.setProperty(DatabaseConfig.DB_URL.getKey(), "jdbc:h2:mem:changed");
+        try {
+            assertEquals(snapshot.get(DatabaseConfig.DB_URL), "jdbc:h2:mem:snapshot");
+            assertThrows(UnsupportedOperationException.class, () -> snapshot.keys().clear());
+        } finally {
+            System.setProperty(DatabaseConfig.DB_URL.getKey(), "jdbc:h2:mem:snapshot");
+        }
+    }
+
+    @Test
+    public void testExplicitSourcesOnePassPerSource() {
+        CountingSource high = new CountingSource("High", 60, Map.of(
+            PerfConfig.PERF_TEST_KEY.getKey(), "from-high"));
+        CountingSource low = new CountingSource("Low", 30, Map.of(
+            PerfConfig.PERF_TEST_KEY.getKey(), "from-low",
+            PerfConfig.PERF_ITERATIONS.getKey(), "42"));
+
+        ConfigSnapshot snapshot = ConfigSnapshot.of(List.of(low, high), PerfConfig.values());
+
+        assertEquals(snapshot.get(PerfConfig.PERF_TEST_KEY), "from-high");
+        assertEquals(snapshot.getSourceName(PerfConfig.PERF_TEST_KEY), "High");
+        assertEquals(snapshot.getInt(PerfConfig.PERF_ITERATIONS), Integer.valueOf(42));
+        assertEquals(snapshot.getSourceName(PerfConfig.PERF_ITERATIONS), "Low");
+        assertEquals(snapshot.getLong(PerfConfig.PERF_THRESHOLD_MS), Long.valueOf(100));
+        assertEquals(snapshot.getSourceName(PerfConfig.PERF_THRESHOLD_MS), "Default");
+
+        // Every key is probed once in the high source; the key found there is skipped in the low one
+        assertEquals(high.lookups.get(), PerfConfig.values().length);
+        assertEquals(low.lookups.get(), PerfConfig.values().length - 1);
+    }
+
+    @Test
+    public void testInvalidTypedValueIsReported() {
+        CountingSource source = new CountingSource("Invalid", 50, Map.of(
+            PerfConfig.PERF_ITERATIONS.getKey(), "many"));
+
+        ConfigSnapshot snapshot = ConfigSnapshot.of(List.of(source), PerfConfig.values());
+
+        assertEquals(snapshot.get(PerfConfig.PERF_ITERATIONS), "many");
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getInt(PerfConfig.PERF_ITERATIONS));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getBoolean(PerfConfig.PERF_ITERATIONS));
+    }
+
+    @Test
+    public void testNumbersParseLikeConfNG() {
+        CountingSource source = new CountingSource("Numbers", 50, Map.of(
+            PerfConfig.PERF_ITERATIONS.getKey(), " -7 ",
+            PerfConfig.PERF_THRESHOLD_MS.getKey(), "99999999999",
+            PerfConfig.PERF_TEST_KEY.getKey(), "+"));
+
+        ConfigSnapshot snapshot = ConfigSnapshot.of(List.of(source), PerfConfig.values());
+
+        assertEquals(snapshot.getInt(PerfConfig.PERF_ITERATIONS), Integer.valueOf(-7));
+        assertEquals(snapshot.getLong(PerfConfig.PERF_THRESHOLD_MS), Long.valueOf(99999999999L));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getInt(PerfConfig.PERF_THRESHOLD_MS));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getLong(PerfConfig.PERF_TEST_KEY));
+    }
+
+    @Test
+    public void testDisplayTableMasksSensitiveValues() {
+        CountingSource source = new CountingSource("Secrets", 50, Map.of(
+            ApiConfig.API_KEY.getKey(), "example-api-key",
+            ApiConfig.API_VERSION.getKey(), "v2"));
+
+        ConfigSnapshot snapshot = ConfigSnapshot.of(List.of(source), ApiConfig.values());
+
+        assertEquals(snapshot.getForDisplay(ApiConfig.API_KEY), ConfigSnapshot.MASKED);
+        assertEquals(snapshot.getForDisplay(ApiConfig.API_VERSION), "v2");
+        assertEquals(snapshot.get(ApiConfig.API_KEY), "example-api-key");
+        assertEquals(snapshot.getDisplayTable().keySet(), snapshot.keys());
+        assertEquals(snapshot.getDisplayTable().get(ApiConfig.API_KEY.getKey()), ConfigSnapshot.MASKED);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getDisplayTable().clear());
+
+        String text = snapshot.toDisplayString();
+        assertTrue(text.contains("api.key = ***MASKED***\n"), text);
+        assertTrue(text.contains("api.version = v2\n"), text);
+        assertFalse(text.contains("example-api-key"), text);
+        assertSame(snapshot.toDisplayString(), text);
+    }
+
+    @Test
+    public void testDisplayMatchesConfNG() {
+        ConfigSnapshot snapshot = ConfigSnapshot.of(ConfigSnapshot.defaultSources(), DatabaseConfig.class);
+
+        for (DatabaseConfig key : DatabaseConfig.values()) {
+            if (!key.isSensitive()) {
+                assertEquals(snapshot.getForDisplay(key), ConfNG.getForDisplay(key), key.getKey());
+            }
+        }
+        assertEquals(snapshot.getForDisplay(DatabaseConfig.DB_PASSWORD), ConfNG.getForDisplay(DatabaseConfig.DB_PASSWORD));
+    }
+
+    @Test
+    public void testMissingSensitiveValueIsNotMasked() {
+        ConfigSnapshot snapshot = ConfigSnapshot.of(List.of(), ApiConfig.API_KEY);
+
+        assertNull(snapshot.getForDisplay(ApiConfig.API_KEY));
+    }
+
+    @AfterClass
+    public void cleanup() {
+        System.clearProperty(DatabaseConfig.DB_URL.getKey());
+        System.clearProperty(DatabaseConfig.DB_POOL_SIZE.getKey());
+    }
+}
@@ -0,0 +1,47 @@
+package org.confng.playground.testng;
+
+/**
+ * Map-backed test source that counts its lookups, shared by the cache and snapshot tests.
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0.1
+ * @since 2025
+ */
+
+import org.confng.sources.ConfigSource;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class CountingSource implements ConfigSource {
+
+    final AtomicInteger lookups = new AtomicInteger();
+
+    private final String name;
+    private final int priority;
+    private final Map<String, String> values;
+
+    CountingSource(String name, int priority, Map<String, String> values) {
+        this.name = name;
+        this.priority = priority;
+        this.values = values;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        lookups.incrementAndGet();
+        return Optional.ofNullable(values.get(key));
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+}
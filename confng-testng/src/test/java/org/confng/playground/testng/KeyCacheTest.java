@@ -0,0 +1,257 @@
+package org.confng.playground.testng;
+
+/**
+ * Key Cache Test verifying cached lookups, remembered misses and their invalidation.
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0.1
+ * @since 2025
+ */
+
+import org.confng.ConfNG;
+import org.confng.api.ConfNGKey;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.testng.Assert.*;
+
+@Test(groups = {"key-cache"}, singleThreaded = true)
+public class KeyCacheTest {
+
+    @BeforeMethod
+    public void resetCache() {
+        KeyCache.clearSourcesAndUseDefaults();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanup() {
+        System.clearProperty(PerfConfig.PERF_TEST_KEY.getKey());
+        System.clearProperty(PerfConfig.PERF_ITERATIONS.getKey());
+        System.clearProperty(FeatureFlags.FEATURE_CACHING.getKey());
+        System.clearProperty(ApiConfig.API_KEY.getKey());
+        KeyCache.clearSourcesAndUseDefaults();
+    }
+
+    @Test
+    public void testCachedValuesMatchConfNG() {
+        System.setProperty(PerfConfig.PERF_TEST_KEY.getKey(), "cached-value");
+        System.setProperty(PerfConfig.PERF_ITERATIONS.getKey(), "250");
+        System.setProperty(FeatureFlags.FEATURE_CACHING.getKey(), "true");
+        KeyCache.invalidate();
+
+        assertEquals(KeyCache.get(PerfConfig.PERF_TEST_KEY), ConfNG.get(PerfConfig.PERF_TEST_KEY));
+        assertEquals(KeyCache.getInt(PerfConfig.PERF_ITERATIONS), ConfNG.getInt(PerfConfig.PERF_ITERATIONS));
+        assertEquals(KeyCache.getLong(PerfConfig.PERF_ITERATIONS), ConfNG.getLong(PerfConfig.PERF_ITERATIONS));
+        assertEquals(KeyCache.getBoolean(FeatureFlags.FEATURE_CACHING), ConfNG.getBoolean(FeatureFlags.FEATURE_CACHING));
+
+        // Defaults are cached like any other value
+        assertEquals(KeyCache.get(PerfConfig.PERF_THRESHOLD_MS), "100");
+    }
+
+    @Test
+    public void testRepeatedLookupReturnsCachedInstance() {
+        System.setProperty(PerfConfig.PERF_ITERATIONS.getKey(), "5000");
+        KeyCache.invalidate();
+
+        Integer first = KeyCache.getInt(PerfConfig.PERF_ITERATIONS);
+        Integer second = KeyCache.getInt(PerfConfig.PERF_ITERATIONS);
+
+        assertEquals(first, Integer.valueOf(5000));
+        assertSame(second, first);
+    }
+
+    @Test
+    public void testMissingValueIsCached() {
+        CountingSource source = new CountingSource("Map", 100, Map.of());
+        KeyCache.addSource(source);
+
+        assertNull(KeyCache.get(ApiConfig.API_KEY));
+        int probes = source.lookups.get();
+        assertNull(KeyCache.get(ApiConfig.API_KEY));
+        assertEquals(source.lookups.get(), probes);
+    }
+
+    @Test
+    public void testSystemPropertyChangeIsNoticed() {
+        assertNull(KeyCache.get(ApiConfig.API_KEY));
+
+        System.setProperty(ApiConfig.API_KEY.getKey(), "late-key");
+        try {
+            assertEquals(KeyCache.get(ApiConfig.API_KEY), "late-key");
+
+            System.setProperty(ApiConfig.API_KEY.getKey(), "rotated-key");
+            assertEquals(KeyCache.get(ApiConfig.API_KEY), "rotated-key");
+        } finally {
+            System.clearProperty(ApiConfig.API_KEY.getKey());
+        }
+    }
+
+    @Test
+    public void testInvalidateDropsWholeTable() {
+        Map<String, String> values = new ConcurrentHashMap<>();
+        values.put(PerfConfig.PERF_TEST_KEY.getKey(), "before");
+        values.put(PerfConfig.PERF_ITERATIONS.getKey(), "1");
+        KeyCache.addSource(new CountingSource("Map", 100, values));
+        assertEquals(KeyCache.get(PerfConfig.PERF_TEST_KEY), "before");
+        assertEquals(KeyCache.getInt(PerfConfig.PERF_ITERATIONS), Integer.valueOf(1));
+
+        // A source changed behind the cache's back is only seen after invalidation
+        values.put(PerfConfig.PERF_TEST_KEY.getKey(), "after");
+        values.put(PerfConfig.PERF_ITERATIONS.getKey(), "2");
+        assertEquals(KeyCache.get(PerfConfig.PERF_TEST_KEY), "before");
+
+        KeyCache.invalidate();
+        assertEquals(KeyCache.get(PerfConfig.PERF_TEST_KEY), "after");
+        assertEquals(KeyCache.getInt(PerfConfig.PERF_ITERATIONS), Integer.valueOf(2));
+    }
+
+    @Test
+    public void testReloadMakesCachedMissResolvable() {
+        Map<String, String> values = new ConcurrentHashMap<>();
+        AtomicLong reloads = new AtomicLong();
+        KeyCache.addSource(new CountingSource("Reloading", 100, values), reloads::get);
+        ConfNGKey key = customKey("keycache.reloaded", "custom-default");
+
+        assertNull(KeyCache.get(ApiConfig.API_KEY));
+        assertEquals(KeyCache.get(key), "custom-default");
+        assertFalse(KeyCache.isPresent(key));
+
+        values.put(ApiConfig.API_KEY.getKey(), "reloaded-key");
+        values.put(key.getKey(), "reloaded-value");
+        reloads.incrementAndGet();
+
+        assertEquals(KeyCache.get(ApiConfig.API_KEY), "reloaded-key");
+        assertTrue(KeyCache.isPresent(key));
+        assertEquals(KeyCache.get(key), "reloaded-value");
+    }
+
+    @Test
+    public void testClearIsNotLostToConcurrentLookups() throws InterruptedException {
+        ConfNGKey key = customKey("keycache.cleared", "custom-default");
+        String defaultTimeout = ConfNG.get(ApiConfig.API_TIMEOUT);
+        AtomicLong reloads = new AtomicLong();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread[] readers = new Thread[4];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(() -> {
+                while (running.get()) {
+                    KeyCache.get(ApiConfig.API_TIMEOUT);
+                    KeyCache.isPresent(key);
+                }
+            });
+            readers[i].start();
+        }
+
+        try {
+            for (int round = 0; round < 5_000; round++) {
+                String timeout = String.valueOf(round);
+                KeyCache.addSource(new CountingSource("Reloading", 100,
+                    Map.of(ApiConfig.API_TIMEOUT.getKey(), timeout, key.getKey(), timeout)), reloads::get);
+                // Large reload counts make a lookup that mixes them into the next sources stand out
+                reloads.addAndGet(1_000);
+
+                assertEquals(KeyCache.get(ApiConfig.API_TIMEOUT), timeout);
+                assertTrue(KeyCache.isPresent(key));
+
+                KeyCache.clearSourcesAndUseDefaults();
+
+                assertEquals(KeyCache.get(ApiConfig.API_TIMEOUT), defaultTimeout);
+                assertFalse(KeyCache.isPresent(key));
+            }
+        } finally {
+            running.set(false);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+        }
+    }
+
+    @Test
+    public void testAddSourceInvalidates() {
+        assertEquals(KeyCache.get(ApiConfig.API_TIMEOUT), ConfNG.get(ApiConfig.API_TIMEOUT));
+
+        KeyCache.addSource(new CountingSource("Map", 100, Map.of(ApiConfig.API_TIMEOUT.getKey(), "12345")));
+
+        assertEquals(KeyCache.get(ApiConfig.API_TIMEOUT), "12345");
+    }
+
+    @Test
+    public void testNonEnumValuesAreNotCached() {
+        ConfNGKey key = customKey("keycache.present", null);
+        System.setProperty(key.getKey(), "first");
+        try {
+            assertEquals(KeyCache.get(key), "first");
+
+            System.setProperty(key.getKey(), "second");
+            assertEquals(KeyCache.get(key), "second");
+        } finally {
+            System.clearProperty(key.getKey());
+        }
+    }
+
+    @Test
+    public void testNonEnumMissIsAnsweredWithoutProbingSources() {
+        CountingSource source = new CountingSource("Map", 100, Map.of());
+        KeyCache.addSource(source);
+        ConfNGKey key = customKey("keycache.missing", "custom-default");
+
+        assertEquals(KeyCache.get(key), "custom-default");
+        int probes = source.lookups.get();
+        assertTrue(probes > 0);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(KeyCache.get(key), "custom-default");
+            assertFalse(KeyCache.isPresent(key));
+        }
+        assertEquals(source.lookups.get(), probes);
+    }
+
+    @Test
+    public void testMissIsForgottenWhenSourcesChange() {
+        ConfNGKey key = customKey("keycache.late", "custom-default");
+        assertEquals(KeyCache.get(key), "custom-default");
+        assertFalse(KeyCache.isPresent(key));
+
+        KeyCache.addSource(new CountingSource("Map", 100, Map.of(key.getKey(), "from-new-source")));
+
+        assertTrue(KeyCache.isPresent(key));
+        assertEquals(KeyCache.get(key), "from-new-source");
+    }
+
+    @Test
+    public void testEnumPresence() {
+        System.setProperty(PerfConfig.PERF_TEST_KEY.getKey(), "set");
+        KeyCache.invalidate();
+
+        assertTrue(KeyCache.isPresent(PerfConfig.PERF_TEST_KEY));
+        // Falls through to its default value, so no source provides it
+        assertFalse(KeyCache.isPresent(PerfConfig.PERF_THRESHOLD_MS));
+        assertFalse(KeyCache.isPresent(ApiConfig.API_KEY));
+    }
+
+    private static ConfNGKey customKey(String name, String defaultValue) {
+        return new ConfNGKey() {
+            @Override
+            public String getKey() {
+                return name;
+            }
+
+            @Override
+            public String getDefaultValue() {
+                return defaultValue;
+            }
+
+            @Override
+            public boolean isSensitive() {
+                return false;
+            }
+        };
+    }
+}
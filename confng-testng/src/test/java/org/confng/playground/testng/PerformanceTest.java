@@ -10,11 +10,14 @@ package org.confng.playground.testng;
  */
 
 import org.confng.ConfNG;
+import org.testng.SkipException;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static org.testng.Assert.*;
 
@@ -88,30 +91,33 @@ public class PerformanceTest {
                 "Concurrent access took too long: " + TimeUnit.NANOSECONDS.toMillis(durationNs) + "ms");
     }
 
-    @Test
-    public void testMemoryUsageStability() {
-        Runtime runtime = Runtime.getRuntime();
-
-        // Force garbage collection
-        System.gc();
-        long initialMemory = runtime.totalMemory() - runtime.freeMemory();
+    @DataProvider(name = "lookups")
+    public Object[][] lookupProvider() {
+        return new Object[][]{
+                {"get", (Supplier<?>) () -> ConfNG.get(PerfConfig.PERF_TEST_KEY)},
+                {"getInt", (Supplier<?>) () -> ConfNG.getInt(PerfConfig.PERF_ITERATIONS)},
+                {"getLong", (Supplier<?>) () -> ConfNG.getLong(PerfConfig.PERF_THRESHOLD_MS)},
+                {"getBoolean", (Supplier<?>) () -> ConfNG.getBoolean(FeatureFlags.FEATURE_CACHING)}
+        };
+    }
 
-        // Perform many configuration accesses
-        for (int i = 0; i < 10000; i++) {
-            ConfNG.get(PerfConfig.PERF_TEST_KEY);
+    @Test(dataProvider = "lookups")
+    public void testAllocationPerLookupWithinBudget(String lookup, Supplier<?> operation) {
+        if (!AllocationMeter.isSupported()) {
+            throw new SkipException("Per-thread allocation accounting is not available on this JVM");
         }
 
-        System.gc();
-        long finalMemory = runtime.totalMemory() - runtime.freeMemory();
+        // Budget can be tightened per run: ./gradlew test -Pperformance.allocationBudgetBytes=0
+        Integer budgetBytes = ConfNG.getInt(PerfConfig.PERF_ALLOCATION_BUDGET_BYTES);
 
-        long memoryIncrease = finalMemory - initialMemory;
+        double bytesPerOp = AllocationMeter.bytesPerOperation(operation, 20_000, 10_000);
 
-        System.out.printf("Memory usage - Initial: %d bytes, Final: %d bytes, Increase: %d bytes%n",
-                initialMemory, finalMemory, memoryIncrease);
+        System.out.printf("Allocation - %s: %.1f bytes/op (budget %d bytes/op)%n",
+                lookup, bytesPerOp, budgetBytes);
 
-        // Memory increase should be minimal (less than 1MB)
-        assertTrue(memoryIncrease < 1024 * 1024,
-                "Memory usage increased too much: " + memoryIncrease + " bytes");
+        assertTrue(bytesPerOp <= budgetBytes,
+                String.format("%s allocated %.1f bytes/op, exceeding the budget of %d bytes/op",
+                        lookup, bytesPerOp, budgetBytes));
     }
 
     @AfterClass
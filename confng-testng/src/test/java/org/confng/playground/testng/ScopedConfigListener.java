@@ -0,0 +1,103 @@
+package org.confng.playground.testng;
+
+/**
+ * TestNG listener that gives every {@code <test>} its own configuration scope.
+ *
+ * <p>When the first suite starts, the playground's configuration enums are resolved once
+ * into the shared base, with one pass over each of ConfNG's default sources
+ * ({@link ConfigSnapshot#defaultSources()}). Every {@code <test>} then gets a scope with its parameters (suite
+ * parameters overridden by the test's own), and every test and configuration method is
+ * run with the scope of its {@code <test>} bound to the executing thread. Tests that read
+ * through {@link #configuration()} can therefore run with {@code parallel="tests"}
+ * without seeing the parameters of another {@code <test>}.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0.1
+ * @since 2025
+ */
+
+import org.confng.api.ConfNGKey;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ScopedConfigListener implements ISuiteListener, ITestListener, IInvokedMethodListener {
+
+    private static final String BINDING_ATTRIBUTE = ScopedConfigListener.class.getName() + ".binding";
+
+    private static volatile ScopedConfiguration configuration;
+
+    /**
+     * Gets the shared configuration, resolving the base on first use.
+     *
+     * @return the scoped configuration
+     */
+    public static ScopedConfiguration configuration() {
+        ScopedConfiguration current = configuration;
+        if (current == null) {
+            synchronized (ScopedConfigListener.class) {
+                current = configuration;
+                if (current == null) {
+                    current = new ScopedConfiguration(ConfigSnapshot.of(ConfigSnapshot.defaultSources(), baseKeys()));
+                    configuration = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Resolves the base when the first suite starts. Later suites, e.g. suites started from
+     * within a test, share it; their scopes are keyed by their own test contexts.
+     */
+    @Override
+    public void onStart(ISuite suite) {
+        configuration();
+    }
+
+    @Override
+    public void onStart(ITestContext context) {
+        configuration().open(context, context.getName(), context.getCurrentXmlTest().getAllParameters());
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        configuration().close(context);
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult, ITestContext context) {
+        if (configuration().scope(context).isPresent()) {
+            testResult.setAttribute(BINDING_ATTRIBUTE, configuration().bind(context));
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult, ITestContext context) {
+        Object binding = testResult.getAttribute(BINDING_ATTRIBUTE);
+        if (binding != null) {
+            testResult.removeAttribute(BINDING_ATTRIBUTE);
+            ((ScopedConfiguration.Binding) binding).close();
+        }
+    }
+
+    private static ConfNGKey[] baseKeys() {
+        List<ConfNGKey> keys = new ArrayList<>();
+        keys.addAll(Arrays.asList(BasicConfig.values()));
+        keys.addAll(Arrays.asList(DatabaseConfig.values()));
+        keys.addAll(Arrays.asList(ApiConfig.values()));
+        keys.addAll(Arrays.asList(FeatureFlags.values()));
+        keys.addAll(Arrays.asList(ParallelConfig.values()));
+        keys.addAll(Arrays.asList(PerfConfig.values()));
+        return keys.toArray(new ConfNGKey[0]);
+    }
+}
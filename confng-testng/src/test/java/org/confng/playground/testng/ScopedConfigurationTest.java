@@ -0,0 +1,210 @@
+package org.confng.playground.testng;
+
+/**
+ * Scoped Configuration Test verifying per-test configuration layers for parallel suites.
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0.1
+ * @since 2025
+ */
+
+import org.confng.sources.ConfigSource;
+import org.testng.ITestContext;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+@Test(groups = {"scoped-config"})
+public class ScopedConfigurationTest {
+
+    @Test
+    public void testScopesOverlayTheBase() {
+        ScopedConfiguration configuration = new ScopedConfiguration(base());
+        Object basic = new Object();
+        Object database = new Object();
+        configuration.open(basic, "Basic-Configuration-Tests", Map.of("app.name", "abcd"));
+        configuration.open(database, "Database-Configuration-Tests", Map.of("app.name", "abcde", "app.debug", "true"));
+
+        ScopedConfiguration.Scope basicScope = configuration.scope(basic).orElseThrow();
+        ScopedConfiguration.Scope databaseScope = configuration.scope(database).orElseThrow();
+
+        assertEquals(basicScope.get(BasicConfig.APP_NAME), "abcd");
+        assertEquals(databaseScope.get(BasicConfig.APP_NAME), "abcde");
+        assertEquals(basicScope.getSourceName(BasicConfig.APP_NAME), "Scope(Basic-Configuration-Tests)");
+
+        // Keys that are not overridden come from the shared base
+        assertEquals(basicScope.get(BasicConfig.APP_VERSION), "2.0.0");
+        assertEquals(databaseScope.get(BasicConfig.APP_VERSION), "2.0.0");
+        assertEquals(basicScope.getSourceName(BasicConfig.APP_VERSION), "Suite");
+        assertFalse(basicScope.getBoolean(BasicConfig.APP_DEBUG));
+        assertTrue(databaseScope.getBoolean(BasicConfig.APP_DEBUG));
+
+        // Keys outside the base fall back to their defaults
+        assertEquals(basicScope.getInt(ParallelConfig.THREAD_COUNT), Integer.valueOf(ParallelConfig.THREAD_COUNT.getDefaultValue()));
+        assertEquals(basicScope.getSourceName(ParallelConfig.THREAD_COUNT), "Default");
+
+        // The base itself is not changed by any scope
+        assertEquals(configuration.getBase().get(BasicConfig.APP_NAME), "abc");
+        assertEquals(configuration.current().get(BasicConfig.APP_NAME), "abc");
+    }
+
+    @Test
+    public void testBindingIsPerThread() throws Exception {
+        ScopedConfiguration configuration = new ScopedConfiguration(base());
+        Object basic = new Object();
+        Object database = new Object();
+        configuration.open(basic, "basic", Map.of("app.name", "abcd"));
+        configuration.open(database, "database", Map.of("app.name", "abcde"));
+
+        Map<String, String> seen = new ConcurrentHashMap<>();
+        CountDownLatch bound = new CountDownLatch(2);
+        Thread first = new Thread(() -> read(configuration, basic, bound, seen, "first"));
+        Thread second = new Thread(() -> read(configuration, database, bound, seen, "second"));
+        first.start();
+        second.start();
+        first.join(10_000);
+        second.join(10_000);
+
+        assertEquals(seen.get("first"), "abcd");
+        assertEquals(seen.get("second"), "abcde");
+        assertEquals(configuration.get(BasicConfig.APP_NAME), "abc", "Unbound threads read the base");
+    }
+
+    @Test
+    public void testBindingRestoresPreviousScope() {
+        ScopedConfiguration configuration = new ScopedConfiguration(base());
+        Object outer = new Object();
+        Object inner = new Object();
+        configuration.open(outer, "outer", Map.of("app.name", "outer"));
+        configuration.open(inner, "inner", Map.of("app.name", "inner"));
+
+        try (ScopedConfiguration.Binding outerBinding = configuration.bind(outer)) {
+            assertEquals(outerBinding.getScope().getName(), "outer");
+            assertEquals(configuration.get(BasicConfig.APP_NAME), "outer");
+            try (ScopedConfiguration.Binding innerBinding = configuration.bind(inner)) {
+                assertSame(configuration.current(), innerBinding.getScope());
+                assertEquals(configuration.get(BasicConfig.APP_NAME), "inner");
+            }
+            assertSame(configuration.current(), outerBinding.getScope());
+            assertEquals(configuration.get(BasicConfig.APP_NAME), "outer");
+        }
+        assertEquals(configuration.get(BasicConfig.APP_NAME), "abc");
+
+        configuration.close(inner);
+        assertFalse(configuration.scope(inner).isPresent());
+        assertThrows(IllegalStateException.class, () -> configuration.bind(inner));
+        assertThrows(IllegalStateException.class, () -> configuration.open(outer, "again", Map.of()));
+    }
+
+    @Test
+    public void testInvalidTypedValue() {
+        ScopedConfiguration configuration = new ScopedConfiguration(base());
+        Object owner = new Object();
+        configuration.open(owner, "invalid", Map.of("app.debug", "maybe", "parallel.threadCount", "many"));
+
+        ScopedConfiguration.Scope scope = configuration.scope(owner).orElseThrow();
+        assertThrows(IllegalArgumentException.class, () -> scope.getBoolean(BasicConfig.APP_DEBUG));
+        assertThrows(IllegalArgumentException.class, () -> scope.getInt(ParallelConfig.THREAD_COUNT));
+        assertThrows(IllegalArgumentException.class, () -> scope.getLong(ParallelConfig.THREAD_COUNT));
+    }
+
+    @Test
+    public void testParallelTestsDoNotShareParameters() {
+        ScopeProbe.reset(2);
+
+        XmlSuite suite = new XmlSuite();
+        suite.setName("Scoped-Parallel-Suite");
+        suite.setParallel(XmlSuite.ParallelMode.TESTS);
+        suite.setThreadCount(2);
+        suite.setParameters(Map.of("app.name", "abc"));
+        addTest(suite, "Basic-Configuration-Tests", "abcd");
+        addTest(suite, "Database-Configuration-Tests", "abcde");
+
+        TestNG testng = new TestNG(false);
+        testng.setXmlSuites(List.of(suite));
+        testng.setListenerClasses(List.of(ScopedConfigListener.class));
+        testng.setVerbose(0);
+        testng.run();
+
+        assertFalse(testng.hasFailure(), "Probe tests failed");
+        assertEquals(ScopeProbe.seen.get("Basic-Configuration-Tests"), "abcd");
+        assertEquals(ScopeProbe.seen.get("Database-Configuration-Tests"), "abcde");
+        assertTrue(ScopeProbe.overlapped, "The two <test> blocks did not run at the same time");
+    }
+
+    private static void addTest(XmlSuite suite, String name, String appName) {
+        XmlTest test = new XmlTest(suite);
+        test.setName(name);
+        test.setParameters(Map.of("app.name", appName));
+        test.setXmlClasses(List.of(new XmlClass(ScopeProbe.class)));
+    }
+
+    private static void read(ScopedConfiguration configuration, Object owner, CountDownLatch bound,
+                             Map<String, String> seen, String name) {
+        ScopedConfiguration.Binding binding = configuration.bind(owner);
+        try {
+            bound.countDown();
+            bound.await(5, TimeUnit.SECONDS); // Both threads are bound before either reads
+            seen.put(name, configuration.get(BasicConfig.APP_NAME));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            binding.close();
+        }
+    }
+
+    private static ConfigSnapshot base() {
+        ConfigSource suite = new ConfigSource() {
+            private final Map<String, String> values = Map.of("app.name", "abc", "app.version", "2.0.0");
+
+            @Override
+            public String getName() {
+                return "Suite";
+            }
+
+            @Override
+            public Optional<String> get(String key) {
+                return Optional.ofNullable(values.get(key));
+            }
+        };
+        return ConfigSnapshot.of(Collections.singletonList(suite), BasicConfig.values());
+    }
+
+    /**
+     * Runs inside both {@code <test>} blocks of the nested suite and records what each one
+     * sees, waiting until both are running so the reads really overlap. Its group is
+     * excluded from the regular test run, where it would pass without checking anything.
+     */
+    public static class ScopeProbe {
+
+        static final Map<String, String> seen = new ConcurrentHashMap<>();
+        static volatile CountDownLatch running = new CountDownLatch(0);
+        static volatile boolean overlapped;
+
+        static void reset(int tests) {
+            seen.clear();
+            running = new CountDownLatch(tests);
+            overlapped = false;
+        }
+
+        @Test(groups = {"scoped-probe"})
+        public void recordAppName(ITestContext context) throws InterruptedException {
+            running.countDown();
+            overlapped = running.await(5, TimeUnit.SECONDS);
+            seen.put(context.getName(), ScopedConfigListener.configuration().get(BasicConfig.APP_NAME));
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package org.confng.playground.databaseconfig;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Small fixed-size connection pool for {@link DatabaseConfigSource}.
+ *
+ * <p>{@code minSize} connections are opened up front and kept idle; more are opened on
+ * demand up to {@code maxSize}. Borrowing waits at most {@code borrowTimeout} for a free
+ * connection and then fails with a {@link SQLTransientConnectionException}, so a saturated
+ * or unreachable database cannot block a refresh for longer than the configured timeout.
+ * Closing a borrowed connection returns it to the pool; connections that were closed
+ * by the driver are dropped and replaced on the next borrow.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+final class ConnectionPool implements DatabaseConfigSource.ConnectionProvider, AutoCloseable {
+
+    private final DatabaseConfigSource.ConnectionProvider physical;
+    private final long borrowTimeoutMillis;
+    private final Semaphore permits;
+    private final BlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private final Object returns = new Object(); // Orders returning connections against close()
+    private volatile boolean closed;
+
+    /**
+     * Creates a new ConnectionPool and opens its minimum number of connections.
+     *
+     * @param physical opens new physical connections
+     * @param minSize the number of connections opened up front
+     * @param maxSize the maximum number of connections in use at the same time
+     * @param borrowTimeout the maximum time to wait for a free connection
+     * @throws SQLException if one of the initial connections cannot be opened
+     */
+    ConnectionPool(DatabaseConfigSource.ConnectionProvider physical, int minSize, int maxSize, Duration borrowTimeout)
+            throws SQLException {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min " + minSize + ", max " + maxSize);
+        }
+        this.physical = physical;
+        this.borrowTimeoutMillis = borrowTimeout.toMillis();
+        this.permits = new Semaphore(maxSize, true);
+        try {
+            for (int i = 0; i < minSize; i++) {
+                idle.add(physical.get());
+            }
+        } catch (SQLException | RuntimeException e) {
+            // The caller never gets a pool to close, so release what was already opened
+            Connection connection;
+            while ((connection = idle.pollFirst()) != null) {
+                try {
+                    connection.close();
+                } catch (SQLException closeFailure) {
+                    e.addSuppressed(closeFailure);
+                }
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection get() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                    "Timed out after " + borrowTimeoutMillis + " ms waiting for a pooled connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a pooled connection", e);
+        }
+
+        try {
+            Connection connection;
+            while ((connection = idle.pollFirst()) != null) {
+                if (!connection.isClosed()) {
+                    return lease(connection);
+                }
+            }
+            return lease(physical.get());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of idle connections.
+     *
+     * @return the idle connection count
+     */
+    int idleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Closes all idle connections. Connections still borrowed are closed when returned.
+     */
+    @Override
+    public void close() {
+        synchronized (returns) {
+            closed = true;
+            Connection connection;
+            while ((connection = idle.pollFirst()) != null) {
+                closeQuietly(connection);
+            }
+        }
+    }
+
+    private void release(Connection connection) {
+        try {
+            if (!connection.isClosed()) {
+                synchronized (returns) {
+                    if (!closed) {
+                        idle.addFirst(connection);
+                        return;
+                    }
+                }
+            }
+            closeQuietly(connection);
+        } catch (SQLException e) {
+            closeQuietly(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Connection lease(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class}, new Lease(connection));
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // Already broken; nothing left to release
+        }
+    }
+
+    /**
+     * Forwards every call to the physical connection, except {@code close()}, which
+     * returns it to the pool exactly once.
+     */
+    private final class Lease implements InvocationHandler {
+
+        private final Connection connection;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        private Lease(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        release(connection);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || connection.isClosed();
+                default:
+                    if (returned.get()) {
+                        throw new SQLException("Connection was returned to the pool");
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package org.confng.playground.databaseconfig;
+
+import org.confng.ConfNG;
+import org.confng.sources.ConfigSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Configuration source backed by the {@code app_config} table (see {@code schema.sql}).
+ *
+ * <p>The whole table is read for the {@code default} environment and the configured
+ * environment in a single query when the source is created, and kept in an immutable
+ * in-memory snapshot. {@link #get(String)} only reads that snapshot, so
+ * {@code ConfNG.get} never issues a query. Environment-specific rows override
+ * {@code default} rows with the same key.</p>
+ *
+ * <p>{@link #refresh()} polls for rows with {@code updated_at} at or after the newest
+ * timestamp seen so far and applies just those rows. Rows at the boundary timestamp are
+ * read again, so a row committed later within the same timestamp is not missed; rows
+ * whose value did not change are ignored. Deleted rows are only noticed by a full
+ * {@link #reload()}.</p>
+ *
+ * <p>Use {@link #startPolling(Duration)} to refresh on a background thread. A failed poll
+ * keeps the last snapshot in place; the error is available from
+ * {@link #getLastRefreshFailure()}.</p>
+ *
+ * <p>{@link #pooled(DataSource, String)} creates a source that borrows connections from
+ * a small pool sized by {@code database.pool.min-size} and {@code database.pool.max-size}.
+ * {@code database.timeout} bounds borrowing a connection and the deadline of
+ * {@link #refreshAsync()}; the driver-side query timeout is only derived from it, rounded
+ * up to whole seconds. A slow database therefore only delays the background refresh;
+ * lookups keep reading the last good snapshot (stale-while-revalidate).</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+public class DatabaseConfigSource implements ConfigSource, AutoCloseable {
+
+    /** Priority between configuration files (30) and system properties (50). */
+    public static final int DEFAULT_PRIORITY = 40;
+
+    static final String DEFAULT_ENVIRONMENT = "default";
+
+    private static final String SELECT_ALL =
+        "SELECT config_key, config_value, environment, updated_at FROM app_config WHERE environment IN (?, ?)";
+    private static final String SELECT_CHANGED = SELECT_ALL + " AND updated_at >= ?";
+
+    private final ConnectionProvider connections;
+    private final String environment;
+    private final Duration timeout;
+    private volatile Snapshot snapshot;
+    private volatile Instant lastRefreshed;
+    private volatile Exception lastRefreshFailure;
+    private final Object lifecycle = new Object(); // Guards the threads, never held while querying
+    private ScheduledExecutorService poller;
+    private ExecutorService refresher;
+    private CompletableFuture<Integer> inFlight;
+    private CompletableFuture<Integer> inFlightWithDeadline;
+    private boolean closed;
+
+    /**
+     * Creates a new DatabaseConfigSource using {@link DriverManager} connections.
+     *
+     * @param jdbcUrl the JDBC URL
+     * @param username the database user
+     * @param password the database password
+     * @param environment the environment whose rows override the "default" rows
+     * @throws IllegalStateException if the initial load fails
+     */
+    public DatabaseConfigSource(String jdbcUrl, String username, String password, String environment) {
+        this(() -> DriverManager.getConnection(jdbcUrl, username, password), environment);
+    }
+
+    /**
+     * Creates a new DatabaseConfigSource using connections from a data source.
+     *
+     * @param dataSource the data source
+     * @param environment the environment whose rows override the "default" rows
+     * @throws IllegalStateException if the initial load fails
+     */
+    public DatabaseConfigSource(DataSource dataSource, String environment) {
+        this(dataSource::getConnection, environment);
+    }
+
+    DatabaseConfigSource(ConnectionProvider connections, String environment) {
+        this(connections, environment, null);
+    }
+
+    DatabaseConfigSource(ConnectionProvider connections, String environment, Duration timeout) {
+        this.connections = connections;
+        this.environment = environment == null ? DEFAULT_ENVIRONMENT : environment;
+        this.timeout = timeout;
+        this.snapshot = load();
+        this.lastRefreshed = Instant.now();
+    }
+
+    /**
+     * Creates a source with a connection pool and timeouts taken from the current
+     * configuration ({@link DatabasePoolConfig}); see {@link #pooled(DataSource, String)}
+     * for how {@code database.timeout} is applied.
+     *
+     * @param jdbcUrl the JDBC URL
+     * @param username the database user
+     * @param password the database password
+     * @param environment the environment whose rows override the "default" rows
+     * @return the new source; {@link #close()} also closes its pool
+     * @throws IllegalStateException if the pool cannot be opened or the initial load fails
+     */
+    public static DatabaseConfigSource pooled(String jdbcUrl, String username, String password, String environment) {
+        return pooled(() -> DriverManager.getConnection(jdbcUrl, username, password), environment);
+    }
+
+    /**
+     * Creates a source with a connection pool and timeouts taken from the current
+     * configuration ({@link DatabasePoolConfig}).
+     *
+     * <p>{@code database.timeout} (milliseconds) is the exact limit for borrowing a
+     * connection and the deadline after which {@link #refreshAsync()} fails. It is not an
+     * exact query timeout: JDBC query timeouts are whole seconds, so every statement gets
+     * {@code database.timeout} rounded up to the next second (200 ms becomes 1 s). A
+     * refresh that misses its deadline is not cancelled; its query keeps running, and keeps
+     * its pool connection, until it finishes or the driver's query timeout stops it.</p>
+     *
+     * @param dataSource the data source the pool opens its connections from
+     * @param environment the environment whose rows override the "default" rows
+     * @return the new source; {@link #close()} also closes its pool
+     * @throws IllegalStateException if the pool cannot be opened or the initial load fails
+     */
+    public static DatabaseConfigSource pooled(DataSource dataSource, String environment) {
+        return pooled(dataSource::getConnection, environment);
+    }
+
+    private static DatabaseConfigSource pooled(ConnectionProvider physical, String environment) {
+        Duration timeout = Duration.ofMillis(ConfNG.getLong(DatabasePoolConfig.DB_TIMEOUT));
+        ConnectionPool pool;
+        try {
+            pool = new ConnectionPool(physical, ConfNG.getInt(DatabasePoolConfig.DB_POOL_MIN_SIZE),
+                ConfNG.getInt(DatabasePoolConfig.DB_POOL_MAX_SIZE), timeout);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to open configuration database connection pool", e);
+        }
+        try {
+            return new DatabaseConfigSource(pool, environment, timeout);
+        } catch (RuntimeException e) {
+            pool.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Database(" + environment + ")";
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(snapshot.values.get(key));
+    }
+
+    @Override
+    public int getPriority() {
+        return DEFAULT_PRIORITY;
+    }
+
+    /**
+     * Gets all resolved values of the current snapshot.
+     *
+     * @return an unmodifiable map of keys to values
+     */
+    public Map<String, String> getAll() {
+        return snapshot.values;
+    }
+
+    /**
+     * Applies rows changed since the last load or refresh.
+     *
+     * @return the number of keys whose value changed
+     * @throws IllegalStateException if the query fails; the current snapshot is kept
+     */
+    public synchronized int refresh() {
+        Snapshot current = snapshot;
+        Map<String, String> changedDefaults = new HashMap<>();
+        Map<String, String> changedOverrides = new HashMap<>();
+        Timestamp watermark = current.watermark;
+
+        try (Connection connection = connections.get();
+             PreparedStatement statement = prepare(connection, SELECT_CHANGED)) {
+            statement.setString(1, DEFAULT_ENVIRONMENT);
+            statement.setString(2, environment);
+            statement.setTimestamp(3, watermark);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    Map<String, String> target = DEFAULT_ENVIRONMENT.equals(rows.getString(3)) ? changedDefaults : changedOverrides;
+                    target.put(rows.getString(1), rows.getString(2));
+                    watermark = later(watermark, rows.getTimestamp(4));
+                }
+            }
+        } catch (SQLException e) {
+            lastRefreshFailure = e;
+            throw new IllegalStateException("Failed to refresh configuration from database", e);
+        }
+
+        // Copy the current rows only when the poll actually changed a value
+        int changedDefaultCount = countChanges(current.defaults, changedDefaults);
+        int changedOverrideCount = countChanges(current.overrides, changedOverrides);
+        Map<String, String> defaults = changedDefaultCount == 0 ? current.defaults : merge(current.defaults, changedDefaults);
+        Map<String, String> overrides = changedOverrideCount == 0 ? current.overrides : merge(current.overrides, changedOverrides);
+        int changed = changedDefaultCount + changedOverrideCount;
+
+        lastRefreshFailure = null;
+        lastRefreshed = Instant.now();
+        if (changed > 0) {
+            snapshot = new Snapshot(defaults, overrides, watermark);
+        } else if (watermark != current.watermark) {
+            snapshot = new Snapshot(current, watermark);
+        }
+        return changed;
+    }
+
+    /**
+     * Re-reads the whole table, also dropping rows that were deleted.
+     *
+     * @throws IllegalStateException if the query fails; the current snapshot is kept
+     */
+    public synchronized void reload() {
+        snapshot = load();
+        lastRefreshed = Instant.now();
+    }
+
+    /**
+     * Starts a {@link #refresh()} on a background thread and returns immediately; lookups
+     * keep reading the current snapshot until the refresh completes. While a refresh is
+     * running, further calls return the same future instead of queueing another query.
+     *
+     * <p>For a {@link #pooled(DataSource, String) pooled} source the returned future fails
+     * with a {@link TimeoutException} once {@code database.timeout} has passed, even if the
+     * driver does not react to the query timeout. The running refresh is not abandoned:
+     * if it completes later, its rows are still applied.</p>
+     *
+     * @return the number of keys whose value changed; fails with an
+     *         {@link IllegalStateException} if the source is closed
+     */
+    public CompletableFuture<Integer> refreshAsync() {
+        synchronized (lifecycle) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException(getName() + " is closed"));
+            }
+            if (inFlight != null && !inFlight.isDone()) {
+                return inFlightWithDeadline;
+            }
+            if (refresher == null) {
+                refresher = Executors.newSingleThreadExecutor(task -> {
+                    Thread thread = new Thread(task, "db-config-refresh-" + environment);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+
+            inFlight = CompletableFuture.supplyAsync(this::refresh, refresher);
+            if (timeout == null) {
+                inFlightWithDeadline = inFlight;
+            } else {
+                inFlightWithDeadline = inFlight.copy().orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+                inFlightWithDeadline.whenComplete((changed, failure) -> {
+                    if (failure instanceof TimeoutException) {
+                        lastRefreshFailure = (TimeoutException) failure;
+                    }
+                });
+            }
+            return inFlightWithDeadline;
+        }
+    }
+
+    /**
+     * Calls {@link #refreshAsync()} periodically on a background daemon thread. A poll
+     * that is due while the previous refresh is still running is skipped.
+     *
+     * @param interval the time between two polls
+     * @throws IllegalStateException if polling was already started or the source is closed
+     */
+    public void startPolling(Duration interval) {
+        synchronized (lifecycle) {
+            if (closed) {
+                throw new IllegalStateException(getName() + " is closed");
+            }
+            if (poller != null) {
+                throw new IllegalStateException("Polling already started for " + getName());
+            }
+            poller = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "db-config-poll-" + environment);
+                thread.setDaemon(true);
+                return thread;
+            });
+            poller.scheduleWithFixedDelay(this::pollQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Gets the time the current snapshot was last confirmed against the database.
+     *
+     * @return the time of the last successful load or refresh
+     */
+    public Instant getLastRefreshed() {
+        return lastRefreshed;
+    }
+
+    /**
+     * Gets the error of the most recent refresh, if it failed.
+     *
+     * @return the failure, or empty if the last refresh succeeded
+     */
+    public Optional<Exception> getLastRefreshFailure() {
+        return Optional.ofNullable(lastRefreshFailure);
+    }
+
+    /**
+     * Stops polling and background refreshes, and closes the connection pool of a
+     * {@link #pooled(DataSource, String) pooled} source. The last snapshot keeps being served.
+     * A background refresh that has not finished fails with an {@link IllegalStateException},
+     * and later calls to {@link #refreshAsync()} fail the same way.
+     */
+    @Override
+    public void close() {
+        synchronized (lifecycle) {
+            closed = true;
+            if (inFlight != null) {
+                // shutdownNow() may drop the queued task, which would leave this future pending forever
+                inFlight.completeExceptionally(new IllegalStateException(getName() + " is closed"));
+            }
+            if (poller != null) {
+                poller.shutdownNow();
+                poller = null;
+            }
+            if (refresher != null) {
+                refresher.shutdownNow();
+                refresher = null;
+            }
+        }
+        if (connections instanceof ConnectionPool) {
+            ((ConnectionPool) connections).close();
+        }
+    }
+
+    private void pollQuietly() {
+        // Failures are recorded in lastRefreshFailure; keep serving the previous snapshot
+        refreshAsync();
+    }
+
+    private PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        if (timeout != null) {
+            // JDBC query timeouts are whole seconds; refreshAsync() reports the exact deadline,
+            // but the query itself runs until it finishes or this rounded-up timeout hits
+            statement.setQueryTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+        }
+        return statement;
+    }
+
+    private Snapshot load() {
+        Map<String, String> defaults = new HashMap<>();
+        Map<String, String> overrides = new HashMap<>();
+        Timestamp watermark = null;
+
+        try (Connection connection = connections.get();
+             PreparedStatement statement = prepare(connection, SELECT_ALL)) {
+            statement.setString(1, DEFAULT_ENVIRONMENT);
+            statement.setString(2, environment);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    Map<String, String> target = DEFAULT_ENVIRONMENT.equals(rows.getString(3)) ? defaults : overrides;
+                    target.put(rows.getString(1), rows.getString(2));
+                    watermark = later(watermark, rows.getTimestamp(4));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load configuration from database", e);
+        }
+        return new Snapshot(defaults, overrides, watermark == null ? new Timestamp(0) : watermark);
+    }
+
+    private static Map<String, String> merge(Map<String, String> rows, Map<String, String> changedRows) {
+        Map<String, String> updated = new HashMap<>(rows);
+        updated.putAll(changedRows);
+        return updated;
+    }
+
+    private static int countChanges(Map<String, String> rows, Map<String, String> changedRows) {
+        int changed = 0;
+        for (Map.Entry<String, String> row : changedRows.entrySet()) {
+            if (!rows.containsKey(row.getKey()) || !Objects.equals(rows.get(row.getKey()), row.getValue())) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private static Timestamp later(Timestamp current, Timestamp candidate) {
+        if (candidate == null || current != null && !candidate.after(current)) {
+            return current;
+        }
+        return candidate;
+    }
+
+    /**
+     * Opens a connection; lets the source work with a {@link DataSource} or a URL.
+     */
+    @FunctionalInterface
+    interface ConnectionProvider {
+        Connection get() throws SQLException;
+    }
+
+    /**
+     * Immutable view of the table: rows per environment, the resolved values and the
+     * newest {@code updated_at} seen.
+     */
+    private static final class Snapshot {
+
+        private final Map<String, String> defaults;
+        private final Map<String, String> overrides;
+        private final Map<String, String> values;
+        private final Timestamp watermark;
+
+        private Snapshot(Map<String, String> defaults, Map<String, String> overrides, Timestamp watermark) {
+            Map<String, String> values = new HashMap<>(defaults);
+            values.putAll(overrides);
+            this.defaults = defaults;
+            this.overrides = overrides;
+            this.values = Collections.unmodifiableMap(values);
+            this.watermark = watermark;
+        }
+
+        private Snapshot(Snapshot previous, Timestamp watermark) {
+            this.defaults = previous.defaults;
+            this.overrides = previous.overrides;
+            this.values = previous.values;
+            this.watermark = watermark;
+        }
+    }
+}
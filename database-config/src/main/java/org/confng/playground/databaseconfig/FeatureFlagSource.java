@@ -0,0 +1,411 @@
+package org.confng.playground.databaseconfig;
+
+import org.confng.sources.ConfigSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feature flag source that follows the {@code app_config_changelog} table (see
+ * {@code changelog.sql}) instead of re-reading {@code app_config}.
+ *
+ * <p>The {@code features.*} rows of the {@code default} environment and the configured
+ * environment are read once, together with the highest changelog version. Each
+ * {@link #refresh()} then only reads changelog rows with a higher version, in version
+ * order. The database cost of a refresh depends on the number of changes, not on the
+ * size of the table, so polling every few hundred milliseconds is cheap enough to see
+ * flag flips within a second.</p>
+ *
+ * <p>Lookups are served from an immutable in-memory snapshot. A refresh applies all of its
+ * changes to a copy of the flags and publishes the copy with a single volatile write, so
+ * readers see either all changes of a refresh or none of them: a multi-flag flip never
+ * lands partially, and a flag moved between keys or environments never briefly
+ * disappears. A refresh that finds no changes copies nothing.</p>
+ *
+ * <p>{@link ChangeListener}s are called after a refresh, once for every key whose resolved
+ * value changed. Changelog rows that do not change the resolved value, e.g. an update of
+ * a {@code default} row that is overridden by the environment, do not fire a callback.</p>
+ *
+ * <p>Versions are assigned when the changelog row is inserted. A transaction that commits
+ * after a transaction with a higher version would be skipped, so flags should be updated
+ * in short transactions; {@link #reload()} recovers from any drift.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+public class FeatureFlagSource implements ConfigSource, AutoCloseable {
+
+    /** Priority of the flag source, above {@link DatabaseConfigSource#DEFAULT_PRIORITY}. */
+    public static final int DEFAULT_PRIORITY = 45;
+
+    /** Prefix of the keys handled by this source. */
+    public static final String KEY_PREFIX = "features.";
+
+    private static final String SELECT_VERSION = "SELECT COALESCE(MAX(version), 0) FROM app_config_changelog";
+    private static final String SELECT_FLAGS =
+        "SELECT config_key, config_value, environment FROM app_config WHERE environment IN (?, ?) AND config_key LIKE ?";
+    private static final String SELECT_CHANGES =
+        "SELECT version, config_key, config_value, environment, deleted FROM app_config_changelog"
+            + " WHERE version > ? AND environment IN (?, ?) AND config_key LIKE ? ORDER BY version";
+
+    private final DatabaseConfigSource.ConnectionProvider connections;
+    private final String environment;
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile Snapshot snapshot;
+    private Rows rows; // Guarded by this; only touched by load, refresh and reload
+    private volatile Exception lastRefreshFailure;
+    private ScheduledExecutorService poller;
+
+    /**
+     * Creates a new FeatureFlagSource using connections from a data source.
+     *
+     * @param dataSource the data source
+     * @param environment the environment whose rows override the "default" rows
+     * @throws IllegalStateException if the initial load fails
+     */
+    public FeatureFlagSource(DataSource dataSource, String environment) {
+        this(dataSource::getConnection, environment);
+    }
+
+    FeatureFlagSource(DatabaseConfigSource.ConnectionProvider connections, String environment) {
+        this.connections = connections;
+        this.environment = environment == null ? DatabaseConfigSource.DEFAULT_ENVIRONMENT : environment;
+        load();
+    }
+
+    @Override
+    public String getName() {
+        return "FeatureFlags(" + environment + ")";
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(snapshot.values.get(key));
+    }
+
+    @Override
+    public int getPriority() {
+        return DEFAULT_PRIORITY;
+    }
+
+    /**
+     * Gets all resolved flags as of this call. The map is the current snapshot and does
+     * not change; call again after a refresh to see its changes.
+     *
+     * @return an unmodifiable map of keys to values
+     */
+    public Map<String, String> getAll() {
+        return snapshot.values;
+    }
+
+    /**
+     * Gets the highest changelog version applied to the current flags.
+     *
+     * @return the version, or 0 if the changelog was empty
+     */
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    /**
+     * Registers a listener that is called for every flag whose value changes.
+     *
+     * @param listener the listener
+     */
+    public void addListener(ChangeListener listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    /**
+     * Removes a listener registered with {@link #addListener(ChangeListener)}.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Applies the changelog rows written since the last load or refresh, then notifies
+     * the listeners about the flags whose resolved value changed.
+     *
+     * @return the keys whose resolved value changed, in the order they were changed
+     * @throws IllegalStateException if the query fails; the current flags are kept
+     */
+    public Set<String> refresh() {
+        Map<String, String> oldValues = new LinkedHashMap<>();
+        Map<String, String> newValues = new HashMap<>();
+
+        synchronized (this) {
+            Snapshot current = snapshot;
+            List<Change> changes = readChanges(current.version);
+            if (changes.isEmpty()) {
+                return Collections.emptySet();
+            }
+
+            Map<String, String> next = new HashMap<>(current.values);
+            for (Change change : changes) {
+                if (!oldValues.containsKey(change.key)) {
+                    oldValues.put(change.key, current.values.get(change.key));
+                }
+                rows.apply(change, next);
+            }
+            for (String key : oldValues.keySet()) {
+                newValues.put(key, next.get(key));
+            }
+            snapshot = new Snapshot(next, changes.get(changes.size() - 1).version);
+        }
+
+        oldValues.entrySet().removeIf(entry -> Objects.equals(entry.getValue(), newValues.get(entry.getKey())));
+        for (Map.Entry<String, String> entry : oldValues.entrySet()) {
+            notifyListeners(entry.getKey(), entry.getValue(), newValues.get(entry.getKey()));
+        }
+        return Collections.unmodifiableSet(oldValues.keySet());
+    }
+
+    /**
+     * Re-reads all flags from {@code app_config}, notifying listeners about any difference
+     * to the current flags.
+     *
+     * @throws IllegalStateException if the query fails; the current flags are kept
+     */
+    public void reload() {
+        Map<String, String> previous;
+        Map<String, String> current;
+        synchronized (this) {
+            previous = snapshot.values;
+            load();
+            current = snapshot.values;
+        }
+
+        Set<String> keys = new LinkedHashSet<>(previous.keySet());
+        keys.addAll(current.keySet());
+        for (String key : keys) {
+            String oldValue = previous.get(key);
+            String newValue = current.get(key);
+            if (!Objects.equals(oldValue, newValue)) {
+                notifyListeners(key, oldValue, newValue);
+            }
+        }
+    }
+
+    /**
+     * Calls {@link #refresh()} periodically on a background daemon thread. Listeners are
+     * called on that thread.
+     *
+     * @param interval the time between two polls
+     * @throws IllegalStateException if polling was already started
+     */
+    public synchronized void startPolling(Duration interval) {
+        if (poller != null) {
+            throw new IllegalStateException("Polling already started for " + getName());
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "feature-flag-poll-" + environment);
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::pollQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the error of the most recent refresh, if it failed.
+     *
+     * @return the failure, or empty if the last refresh succeeded
+     */
+    public Optional<Exception> getLastRefreshFailure() {
+        return Optional.ofNullable(lastRefreshFailure);
+    }
+
+    /**
+     * Stops polling. The current flags keep being served.
+     */
+    @Override
+    public synchronized void close() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+    }
+
+    private void pollQuietly() {
+        try {
+            refresh();
+        } catch (IllegalStateException e) {
+            // Recorded in lastRefreshFailure; keep serving the current flags
+        }
+    }
+
+    /**
+     * Calls every listener; a failing listener does not keep the others from being called.
+     */
+    private void notifyListeners(String key, String oldValue, String newValue) {
+        for (ChangeListener listener : listeners) {
+            try {
+                listener.onChange(key, oldValue, newValue);
+            } catch (RuntimeException e) {
+                // The flags are already updated; one broken listener must not block the rest
+            }
+        }
+    }
+
+    /**
+     * Reads all flags and publishes them. The changelog version is read before the flags,
+     * so changes made while the flags are read are applied again by the next refresh
+     * rather than lost. Nothing is replaced if a query fails.
+     */
+    private void load() {
+        Rows loaded = new Rows();
+        Map<String, String> values = new HashMap<>();
+        long version;
+
+        try (Connection connection = connections.get()) {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_VERSION);
+                 ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                version = resultSet.getLong(1);
+            }
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_FLAGS)) {
+                statement.setString(1, DatabaseConfigSource.DEFAULT_ENVIRONMENT);
+                statement.setString(2, environment);
+                statement.setString(3, KEY_PREFIX + "%");
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        loaded.apply(new Change(0, resultSet.getString(1), resultSet.getString(2), resultSet.getString(3), false), values);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load feature flags from database", e);
+        }
+        rows = loaded;
+        snapshot = new Snapshot(values, version);
+    }
+
+    /**
+     * Reads all changelog rows after a version. Nothing is applied until the whole
+     * result is read, so a failed query leaves the flags untouched.
+     */
+    private List<Change> readChanges(long version) {
+        List<Change> changes = new ArrayList<>();
+        try (Connection connection = connections.get();
+             PreparedStatement statement = connection.prepareStatement(SELECT_CHANGES)) {
+            statement.setLong(1, version);
+            statement.setString(2, DatabaseConfigSource.DEFAULT_ENVIRONMENT);
+            statement.setString(3, environment);
+            statement.setString(4, KEY_PREFIX + "%");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    changes.add(new Change(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3),
+                        resultSet.getString(4), resultSet.getBoolean(5)));
+                }
+            }
+        } catch (SQLException e) {
+            lastRefreshFailure = e;
+            throw new IllegalStateException("Failed to read feature flag changes from database", e);
+        }
+        lastRefreshFailure = null;
+        return changes;
+    }
+
+    /**
+     * Callback for flag changes.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+
+        /**
+         * Called after a flag's resolved value changed.
+         *
+         * @param key the flag key, e.g. "features.new-ui"
+         * @param oldValue the previous value, or null if the flag was not set
+         * @param newValue the new value, or null if the flag was deleted
+         */
+        void onChange(String key, String oldValue, String newValue);
+    }
+
+    /**
+     * One row of {@code app_config_changelog}.
+     */
+    private static final class Change {
+
+        private final long version;
+        private final String key;
+        private final String value;
+        private final String environment;
+        private final boolean deleted;
+
+        private Change(long version, String key, String value, String environment, boolean deleted) {
+            this.version = version;
+            this.key = key;
+            this.value = value;
+            this.environment = environment;
+            this.deleted = deleted;
+        }
+    }
+
+    /**
+     * The rows per environment the resolved values are computed from. Only used while
+     * holding the source's lock; readers never see these maps.
+     */
+    private static final class Rows {
+
+        private final Map<String, String> defaults = new HashMap<>();
+        private final Map<String, String> overrides = new HashMap<>();
+
+        /**
+         * Applies a change to the rows and puts the key's resolved value into {@code values}.
+         */
+        private void apply(Change change, Map<String, String> values) {
+            Map<String, String> target =
+                DatabaseConfigSource.DEFAULT_ENVIRONMENT.equals(change.environment) ? defaults : overrides;
+            if (change.deleted) {
+                target.remove(change.key);
+            } else {
+                target.put(change.key, change.value);
+            }
+
+            String resolved = overrides.containsKey(change.key) ? overrides.get(change.key) : defaults.get(change.key);
+            if (resolved == null) {
+                values.remove(change.key);
+            } else {
+                values.put(change.key, resolved);
+            }
+        }
+    }
+
+    /**
+     * The resolved flags and the changelog version they reflect. Never modified after it
+     * is published, so readers need no locking.
+     */
+    private static final class Snapshot {
+
+        private final Map<String, String> values;
+        private final long version;
+
+        private Snapshot(Map<String, String> values, long version) {
+            this.values = Collections.unmodifiableMap(values);
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- Change log of app_config, read by FeatureFlagSource to apply only the rows that changed.
+-- Every insert, update or delete of app_config appends one row with a new version.
+-- The rows are written by database triggers; the trigger body is database-specific
+-- (e.g. a PL/pgSQL function on PostgreSQL, a Java trigger class on H2).
+CREATE TABLE IF NOT EXISTS app_config_changelog (
+    version BIGINT AUTO_INCREMENT PRIMARY KEY,
+    config_key VARCHAR(255) NOT NULL,
+    config_value TEXT,
+    environment VARCHAR(50) NOT NULL,
+    deleted BOOLEAN DEFAULT FALSE NOT NULL,
+    changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
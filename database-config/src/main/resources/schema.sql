@@ -1,14 +1,15 @@
 -- Configuration table schema
 CREATE TABLE IF NOT EXISTS app_config (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    config_key VARCHAR(255) NOT NULL UNIQUE,
+    config_key VARCHAR(255) NOT NULL,
     config_value TEXT,
     environment VARCHAR(50) DEFAULT 'default',
     is_sensitive BOOLEAN DEFAULT FALSE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     created_by VARCHAR(100) DEFAULT 'system',
-    description TEXT
+    description TEXT,
+    CONSTRAINT uk_config_key_env UNIQUE (config_key, environment)
 );
 
 -- Insert sample configuration data
@@ -43,4 +44,5 @@ INSERT INTO app_config (config_key, config_value, environment, is_sensitive, des
 
 -- Create index for better performance
 CREATE INDEX IF NOT EXISTS idx_config_key_env ON app_config(config_key, environment);
-CREATE INDEX IF NOT EXISTS idx_environment ON app_config(environment);
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS idx_environment ON app_config(environment);
+CREATE INDEX IF NOT EXISTS idx_updated_at ON app_config(updated_at);
\ No newline at end of file
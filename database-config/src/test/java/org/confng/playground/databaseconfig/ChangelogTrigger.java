@@ -0,0 +1,54 @@
+package org.confng.playground.databaseconfig;
+
+/**
+ * H2 trigger that fills {@code app_config_changelog} (see {@code changelog.sql}).
+ *
+ * <p>Appends one changelog row per inserted, updated or deleted {@code app_config} row.
+ * An update that moves a row to another key or environment is logged as a delete of the
+ * old row followed by an insert of the new one.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Objects;
+
+public final class ChangelogTrigger implements Trigger {
+
+    private static final String INSERT_CHANGE =
+        "INSERT INTO app_config_changelog (config_key, config_value, environment, deleted) VALUES (?, ?, ?, ?)";
+
+    // Column positions in app_config
+    private static final int KEY = 1;
+    private static final int VALUE = 2;
+    private static final int ENVIRONMENT = 3;
+
+    @Override
+    public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+        if (oldRow != null && (newRow == null
+                || !Objects.equals(oldRow[KEY], newRow[KEY])
+                || !Objects.equals(oldRow[ENVIRONMENT], newRow[ENVIRONMENT]))) {
+            log(connection, oldRow, true);
+        }
+        if (newRow != null) {
+            log(connection, newRow, false);
+        }
+    }
+
+    private static void log(Connection connection, Object[] row, boolean deleted) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_CHANGE)) {
+            statement.setObject(1, row[KEY]);
+            statement.setObject(2, deleted ? null : row[VALUE]);
+            statement.setObject(3, row[ENVIRONMENT]);
+            statement.setBoolean(4, deleted);
+            statement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package org.confng.playground.databaseconfig;
+
+/**
+ * Test class for the JDBC-backed configuration source using an embedded H2 database.
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+
+import org.confng.ConfNG;
+import org.confng.api.ConfNGKey;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+public class DatabaseConfigSourceTest {
+
+    private H2DataSource dataSource;
+
+    @BeforeMethod
+    public void createDatabase() throws SQLException {
+        dataSource = H2DataSource.create();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void dropDatabase() throws SQLException {
+        dataSource.shutdown();
+        ConfNG.clearSourcesAndUseDefaults();
+    }
+
+    @Test
+    public void testLoadsWholeTableInOneQuery() {
+        DatabaseConfigSource source = new DatabaseConfigSource(dataSource, "default");
+
+        assertEquals(dataSource.connectionCount(), 1);
+        assertEquals(source.get("app.name").orElse(null), "ConfNG Database Example");
+        assertEquals(source.get("database.pool.max-size").orElse(null), "20");
+        assertFalse(source.get("missing.database.key").isPresent());
+    }
+
+    @Test
+    public void testEnvironmentRowsOverrideDefaults() {
+        DatabaseConfigSource production = new DatabaseConfigSource(dataSource, "production");
+        DatabaseConfigSource development = new DatabaseConfigSource(dataSource, "development");
+
+        assertEquals(production.get("database.pool.max-size").orElse(null), "50");
+        assertEquals(production.get("api.rate-limit").orElse(null), "10000");
+        assertEquals(production.get("app.debug").orElse(null), "false");
+        assertEquals(development.get("app.debug").orElse(null), "true");
+        assertEquals(development.get("database.pool.max-size").orElse(null), "20");
+    }
+
+    @Test
+    public void testLookupsNeverQueryTheDatabase() throws SQLException {
+        dataSource.execute("INSERT INTO app_config (config_key, config_value, environment) VALUES ('cache.ttl', '600', 'production')");
+        DatabaseConfigSource source = new DatabaseConfigSource(dataSource, "production");
+        ConfNG.addSource(source);
+        int afterLoad = dataSource.connectionCount();
+
+        ConfNGKey cacheTtl = new ConfNGKey() {
+            @Override
+            public String getKey() {
+                return "cache.ttl";
+            }
+
+            @Override
+            public String getDefaultValue() {
+                return "60";
+            }
+
+            @Override
+            public boolean isSensitive() {
+                return false;
+            }
+        };
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(ConfNG.getInt(cacheTtl), Integer.valueOf(600));
+            assertNotNull(ConfNG.get(DatabasePoolConfig.DB_POOL_MAX_SIZE));
+        }
+
+        assertEquals(dataSource.connectionCount(), afterLoad);
+    }
+
+    @Test
+    public void testRefreshAppliesOnlyChangedRows() throws Exception {
+        DatabaseConfigSource source = new DatabaseConfigSource(dataSource, "production");
+        assertEquals(source.refresh(), 0);
+
+        Thread.sleep(5); // Make sure updated_at moves past the initial watermark
+        dataSource.execute("UPDATE app_config SET config_value = 'false' WHERE config_key = 'features.new-ui'");
+        dataSource.execute("INSERT INTO app_config (config_key, config_value, environment) VALUES ('features.dark-mode', 'true', 'production')");
+
+        assertEquals(source.get("features.new-ui").orElse(null), "true");
+        assertEquals(source.refresh(), 2);
+        assertEquals(source.get("features.new-ui").orElse(null), "false");
+        assertEquals(source.get("features.dark-mode").orElse(null), "true");
+
+        // Rows of other environments are never picked up
+        dataSource.execute("INSERT INTO app_config (config_key, config_value, environment) VALUES ('features.dark-mode', 'false', 'development')");
+        assertEquals(source.refresh(), 0);
+        assertEquals(source.get("features.dark-mode").orElse(null), "true");
+    }
+
+    @Test
+    public void testRefreshWithoutValueChangesKeepsTheSnapshot() throws Exception {
+        DatabaseConfigSource source = new DatabaseConfigSource(dataSource, "production");
+        Map<String, String> before = source.getAll();
+
+        Thread.sleep(5);
+        dataSource.execute("UPDATE app_config SET config_value = '10000' WHERE config_key = 'api.rate-limit' AND environment = 'production'");
+
+        assertEquals(source.refresh(), 0);
+        assertSame(source.getAll(), before); // Touched rows with the same value do not copy the table
+    }
+
+    @Test
+    public void testReloadDropsDeletedRows() throws SQLException {
+        DatabaseConfigSource source = new DatabaseConfigSource(dataSource, "production");
+        dataSource.execute("DELETE FROM app_config WHERE config_key = 'api.rate-limit' AND environment = 'production'");
+
+        source.refresh();
+        assertEquals(source.get("api.rate-limit").orElse(null), "10000");
+
+        source.reload();
+        assertEquals(source.get("api.rate-limit").orElse(null), "1000");
+    }
+
+    @Test
+    public void testPollingPicksUpChanges() throws Exception {
+        try (DatabaseConfigSource source = new DatabaseConfigSource(dataSource, "default")) {
+            source.startPolling(Duration.ofMillis(20));
+
+            Thread.sleep(5);
+            dataSource.execute("UPDATE app_config SET config_value = '4.0.0' WHERE config_key = 'app.version' AND environment = 'default'");
+
+            long deadline = System.currentTimeMillis() + 2000;
+            while (!"4.0.0".equals(source.get("app.version").orElse(null)) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(source.get("app.version").orElse(null), "4.0.0");
+            assertFalse(source.getLastRefreshFailure().isPresent());
+        }
+    }
+
+    @Test
+    public void testFailedRefreshKeepsSnapshot() throws SQLException {
+        DatabaseConfigSource source = new DatabaseConfigSource(dataSource, "default");
+        dataSource.execute("DROP TABLE app_config");
+
+        assertThrows(IllegalStateException.class, source::refresh);
+        assertTrue(source.getLastRefreshFailure().isPresent());
+        assertEquals(source.get("app.name").orElse(null), "ConfNG Database Example");
+    }
+
+    @Test
+    public void testCloseFailsPendingAndLaterRefreshes() throws Exception {
+        DatabaseConfigSource source = new DatabaseConfigSource(dataSource, "default");
+        dataSource.delayQueries(1000);
+        CompletableFuture<Integer> pending = source.refreshAsync();
+
+        // Without a deadline this future would never complete if close() dropped its task
+        source.close();
+        ExecutionException failure = expectThrows(ExecutionException.class, () -> pending.get(500, TimeUnit.MILLISECONDS));
+        assertTrue(failure.getCause() instanceof IllegalStateException);
+
+        // A closed source starts no new refresh thread
+        assertTrue(source.refreshAsync().isCompletedExceptionally());
+        assertThrows(IllegalStateException.class, () -> source.startPolling(Duration.ofMillis(10)));
+        assertEquals(source.get("app.name").orElse(null), "ConfNG Database Example");
+    }
+}
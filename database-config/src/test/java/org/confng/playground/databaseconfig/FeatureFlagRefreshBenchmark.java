@@ -0,0 +1,93 @@
+package org.confng.playground.databaseconfig;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares applying changelog deltas with re-reading every flag row, on a table with
+ * {@code -Dbenchmark.flags.rows} (default 100,000) flags of which a handful change
+ * between two refreshes.
+ *
+ * <p>Excluded from the regular test run; execute with {@code ./gradlew benchmark}.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ */
+@Test(groups = "benchmark")
+public class FeatureFlagRefreshBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.flags.rows", 100_000);
+    private static final int CHANGES_PER_ROUND = 10;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 15;
+
+    private H2DataSource dataSource;
+    private FeatureFlagSource source;
+    private int round;
+
+    @BeforeClass
+    public void populateFlags() throws SQLException {
+        dataSource = H2DataSource.create();
+        // Bulk load before the triggers exist, so the changelog starts empty
+        dataSource.execute("INSERT INTO app_config (config_key, config_value, environment) "
+            + "SELECT 'features.flag-' || X, 'false', 'default' FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        dataSource.installChangelog();
+        source = new FeatureFlagSource(dataSource, "default");
+        System.out.printf("Loaded %d feature flags%n", source.getAll().size());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void dropDatabase() throws SQLException {
+        dataSource.shutdown();
+    }
+
+    @Test
+    public void compareDeltaWithFullReload() throws SQLException {
+        long delta = measure("delta refresh", source::refresh);
+        long full = measure("full reload", source::reload);
+
+        assertThat(source.getAll()).hasSize(ROWS + 2); // Plus features.new-ui and features.beta-api
+        assertThat(delta)
+            .as("applying %d changed flags should be faster than reloading %d rows", CHANGES_PER_ROUND, ROWS)
+            .isLessThan(full);
+    }
+
+    /**
+     * Flips a few flags, then times the refresh; reports and returns the median in microseconds.
+     */
+    private long measure(String name, Runnable refresh) throws SQLException {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            flipFlags();
+            refresh.run();
+        }
+
+        long[] micros = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            flipFlags();
+            long start = System.nanoTime();
+            refresh.run();
+            micros[i] = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        }
+        Arrays.sort(micros);
+
+        long median = micros[MEASURED_RUNS / 2];
+        System.out.printf("%-14s median %,8d us   min %,8d us   max %,8d us%n",
+            name, median, micros[0], micros[MEASURED_RUNS - 1]);
+        return median;
+    }
+
+    private void flipFlags() throws SQLException {
+        round++;
+        int first = (round * CHANGES_PER_ROUND) % (ROWS - CHANGES_PER_ROUND) + 1;
+        dataSource.execute("UPDATE app_config SET config_value = '" + (round % 2 == 0) + "' "
+            + "WHERE config_key IN (SELECT 'features.flag-' || X FROM SYSTEM_RANGE(" + first + ", "
+            + (first + CHANGES_PER_ROUND - 1) + ")) AND environment = 'default'");
+    }
+}
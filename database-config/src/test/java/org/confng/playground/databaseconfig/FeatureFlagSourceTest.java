@@ -0,0 +1,174 @@
+package org.confng.playground.databaseconfig;
+
+/**
+ * Test class for the changelog-driven feature flag source using an embedded H2 database.
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+
+import org.confng.ConfNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+public class FeatureFlagSourceTest {
+
+    private H2DataSource dataSource;
+
+    @BeforeMethod
+    public void createDatabase() throws SQLException {
+        dataSource = H2DataSource.create();
+        dataSource.installChangelog();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void dropDatabase() throws SQLException {
+        dataSource.shutdown();
+        ConfNG.clearSourcesAndUseDefaults();
+    }
+
+    @Test
+    public void testLoadsOnlyFeatureFlags() {
+        FeatureFlagSource source = new FeatureFlagSource(dataSource, "production");
+
+        assertEquals(source.get(FeatureFlagConfig.FEATURE_NEW_UI.getKey()).orElse(null), "true");
+        assertEquals(source.get(FeatureFlagConfig.FEATURE_BETA_API.getKey()).orElse(null), "false");
+        assertFalse(source.get("app.name").isPresent());
+        assertEquals(source.getVersion(), 0);
+    }
+
+    @Test
+    public void testFlagFlipIsVisibleThroughConfNG() throws SQLException {
+        FeatureFlagSource source = new FeatureFlagSource(dataSource, "production");
+        ConfNG.addSource(source);
+        assertFalse(ConfNG.getBoolean(FeatureFlagConfig.FEATURE_BETA_API));
+
+        dataSource.execute("UPDATE app_config SET config_value = 'true' WHERE config_key = 'features.beta-api'");
+        assertEquals(source.refresh(), Collections.singleton("features.beta-api"));
+
+        assertTrue(ConfNG.getBoolean(FeatureFlagConfig.FEATURE_BETA_API));
+        assertEquals(source.getVersion(), 1);
+    }
+
+    @Test
+    public void testListenersSeeOnlyAffectedKeys() throws SQLException {
+        FeatureFlagSource source = new FeatureFlagSource(dataSource, "production");
+        List<String> events = new ArrayList<>();
+        source.addListener((key, oldValue, newValue) -> events.add(key + ":" + oldValue + "->" + newValue));
+
+        dataSource.execute("UPDATE app_config SET config_value = 'false' WHERE config_key = 'features.new-ui'");
+        dataSource.execute("INSERT INTO app_config (config_key, config_value, environment) VALUES ('features.dark-mode', 'true', 'production')");
+        dataSource.execute("DELETE FROM app_config WHERE config_key = 'features.analytics'");
+        // Neither a non-flag key nor another environment's flag is reported
+        dataSource.execute("UPDATE app_config SET config_value = '3.0.1' WHERE config_key = 'app.version'");
+        dataSource.execute("INSERT INTO app_config (config_key, config_value, environment) VALUES ('features.dark-mode', 'false', 'development')");
+
+        source.refresh();
+
+        assertEquals(events, Arrays.asList(
+            "features.new-ui:true->false",
+            "features.dark-mode:null->true",
+            "features.analytics:true->null"));
+        assertEquals(source.refresh(), Collections.emptySet());
+        assertEquals(events.size(), 3);
+    }
+
+    @Test
+    public void testRefreshPublishesANewSnapshot() throws SQLException {
+        FeatureFlagSource source = new FeatureFlagSource(dataSource, "production");
+        Map<String, String> before = source.getAll();
+
+        dataSource.execute("UPDATE app_config SET config_value = 'false' WHERE config_key = 'features.new-ui'");
+        dataSource.execute("UPDATE app_config SET config_value = 'true' WHERE config_key = 'features.beta-api'");
+        // Move a flag from the default to the production environment
+        dataSource.execute("DELETE FROM app_config WHERE config_key = 'features.analytics'");
+        dataSource.execute("INSERT INTO app_config (config_key, config_value, environment) VALUES ('features.analytics', 'false', 'production')");
+        source.refresh();
+
+        // Earlier snapshots are not modified; the new one has every change of the refresh
+        assertEquals(before.get("features.new-ui"), "true");
+        assertEquals(before.get("features.beta-api"), "false");
+        assertEquals(before.get("features.analytics"), "true");
+        Map<String, String> after = source.getAll();
+        assertEquals(after.get("features.new-ui"), "false");
+        assertEquals(after.get("features.beta-api"), "true");
+        assertEquals(after.get("features.analytics"), "false");
+        assertThrows(UnsupportedOperationException.class, () -> after.put("features.new-ui", "true"));
+    }
+
+    @Test
+    public void testOverriddenDefaultDoesNotFire() throws SQLException {
+        dataSource.execute("INSERT INTO app_config (config_key, config_value, environment) VALUES ('features.beta-api', 'true', 'production')");
+        FeatureFlagSource source = new FeatureFlagSource(dataSource, "production");
+        List<String> events = new ArrayList<>();
+        source.addListener((key, oldValue, newValue) -> events.add(key));
+
+        dataSource.execute("UPDATE app_config SET config_value = 'maybe' WHERE config_key = 'features.beta-api' AND environment = 'default'");
+        assertEquals(source.refresh(), Collections.emptySet());
+        assertTrue(events.isEmpty());
+
+        // Removing the override falls back to the changed default
+        dataSource.execute("DELETE FROM app_config WHERE config_key = 'features.beta-api' AND environment = 'production'");
+        assertEquals(source.refresh(), Collections.singleton("features.beta-api"));
+        assertEquals(source.get("features.beta-api").orElse(null), "maybe");
+    }
+
+    @Test
+    public void testBrokenListenerDoesNotBlockOthers() throws SQLException {
+        FeatureFlagSource source = new FeatureFlagSource(dataSource, "default");
+        List<String> events = new ArrayList<>();
+        source.addListener((key, oldValue, newValue) -> {
+            throw new IllegalStateException("broken listener");
+        });
+        source.addListener((key, oldValue, newValue) -> events.add(key));
+
+        dataSource.execute("UPDATE app_config SET config_value = 'false' WHERE config_key = 'features.new-ui'");
+        source.refresh();
+
+        assertEquals(events, Collections.singletonList("features.new-ui"));
+        assertEquals(source.get("features.new-ui").orElse(null), "false");
+    }
+
+    @Test
+    public void testPollingDeliversFlipWithinASecond() throws Exception {
+        try (FeatureFlagSource source = new FeatureFlagSource(dataSource, "default")) {
+            CountDownLatch flipped = new CountDownLatch(1);
+            source.addListener((key, oldValue, newValue) -> flipped.countDown());
+            source.startPolling(Duration.ofMillis(100));
+
+            dataSource.execute("UPDATE app_config SET config_value = 'false' WHERE config_key = 'features.new-ui'");
+
+            assertTrue(flipped.await(1, TimeUnit.SECONDS), "Flag flip was not delivered within a second");
+            assertEquals(source.get("features.new-ui").orElse(null), "false");
+        }
+    }
+
+    @Test
+    public void testReloadReportsDifferences() throws SQLException {
+        FeatureFlagSource source = new FeatureFlagSource(dataSource, "default");
+        List<String> events = new ArrayList<>();
+        source.addListener((key, oldValue, newValue) -> events.add(key));
+
+        dataSource.execute("UPDATE app_config SET config_value = 'false' WHERE config_key = 'features.new-ui'");
+        source.reload();
+
+        assertEquals(events, Collections.singletonList("features.new-ui"));
+        assertEquals(source.getVersion(), 1);
+        assertEquals(source.refresh(), Collections.emptySet());
+    }
+}
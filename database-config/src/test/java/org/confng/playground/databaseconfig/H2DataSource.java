@@ -0,0 +1,144 @@
+package org.confng.playground.databaseconfig;
+
+/**
+ * Embedded H2 data source for tests, initialized with {@code schema.sql}.
+ *
+ * <p>Counts the connections it hands out, so tests can verify that lookups never reach the database.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+final class H2DataSource implements DataSource {
+
+    private final String url;
+    private final AtomicInteger connections = new AtomicInteger();
+    private String delayTrigger;
+
+    private H2DataSource(String url) {
+        this.url = url;
+    }
+
+    /**
+     * Creates a fresh in-memory database with the {@code app_config} table and sample data.
+     */
+    static H2DataSource create() throws SQLException {
+        H2DataSource dataSource = new H2DataSource("jdbc:h2:mem:config-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.execute("RUNSCRIPT FROM 'classpath:schema.sql'");
+        dataSource.connections.set(0);
+        return dataSource;
+    }
+
+    /**
+     * Creates the {@code app_config_changelog} table and the triggers that fill it.
+     */
+    void installChangelog() throws SQLException {
+        execute("RUNSCRIPT FROM 'classpath:changelog.sql'");
+        execute("CREATE TRIGGER app_config_changes AFTER INSERT, UPDATE, DELETE ON app_config FOR EACH ROW CALL '"
+            + ChangelogTrigger.class.getName() + "'");
+    }
+
+    /**
+     * Delays every query on {@code app_config} until {@link #removeDelay()} is called.
+     */
+    void delayQueries(long millis) throws SQLException {
+        if (delayTrigger == null) {
+            delayTrigger = "delay_" + System.nanoTime();
+            execute("CREATE TRIGGER " + delayTrigger + " BEFORE SELECT ON app_config CALL '"
+                + SlowQueryTrigger.class.getName() + "'");
+        }
+        SlowQueryTrigger.setDelay(delayTrigger, millis);
+    }
+
+    /**
+     * Removes the delay added by {@link #delayQueries(long)}.
+     */
+    void removeDelay() {
+        if (delayTrigger != null) {
+            SlowQueryTrigger.setDelay(delayTrigger, 0);
+        }
+    }
+
+    /**
+     * Gets the number of connections handed out since creation.
+     */
+    int connectionCount() {
+        return connections.get();
+    }
+
+    /**
+     * Runs a statement on a new connection without counting it.
+     */
+    void execute(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * Drops the in-memory database.
+     */
+    void shutdown() throws SQLException {
+        execute("SHUTDOWN");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        connections.incrementAndGet();
+        return DriverManager.getConnection(url, "sa", "");
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        connections.incrementAndGet();
+        return DriverManager.getConnection(url, username, password);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        // Not used
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        // Not used
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) throws SQLException {
+        throw new SQLException("Not a wrapper for " + type);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> type) {
+        return false;
+    }
+}
@@ -0,0 +1,203 @@
+package org.confng.playground.databaseconfig;
+
+/**
+ * Test class for the pooled, deadline-bounded database source using an embedded H2
+ * database with injected query delays.
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+
+import org.confng.ConfNG;
+import org.confng.sources.ConfigSource;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.testng.Assert.*;
+
+public class PooledDatabaseConfigSourceTest {
+
+    private static final long TIMEOUT_MILLIS = 200;
+
+    private H2DataSource dataSource;
+
+    @BeforeMethod
+    public void createDatabase() throws SQLException {
+        dataSource = H2DataSource.create();
+        Map<String, String> pool = new HashMap<>();
+        pool.put(DatabasePoolConfig.DB_POOL_MIN_SIZE.getKey(), "2");
+        pool.put(DatabasePoolConfig.DB_POOL_MAX_SIZE.getKey(), "3");
+        pool.put(DatabasePoolConfig.DB_TIMEOUT.getKey(), String.valueOf(TIMEOUT_MILLIS));
+        ConfNG.addSource(new PoolSettings(pool));
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void dropDatabase() throws SQLException {
+        dataSource.shutdown();
+        ConfNG.clearSourcesAndUseDefaults();
+    }
+
+    @Test
+    public void testPoolIsSizedFromConfiguration() throws SQLException {
+        try (DatabaseConfigSource source = DatabaseConfigSource.pooled(dataSource, "production")) {
+            assertEquals(source.get("database.pool.max-size").orElse(null), "50");
+            assertEquals(dataSource.connectionCount(), 2); // min-size opened up front, then reused
+
+            for (int i = 0; i < 5; i++) {
+                source.refresh();
+            }
+            assertEquals(dataSource.connectionCount(), 2);
+        }
+    }
+
+    @Test
+    public void testBorrowingWaitsAtMostTheTimeout() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(dataSource::getConnection, 0, 1, Duration.ofMillis(TIMEOUT_MILLIS));
+        try (Connection borrowed = pool.get()) {
+            long start = System.nanoTime();
+            assertThrows(SQLTransientConnectionException.class, pool::get);
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= TIMEOUT_MILLIS - 20);
+            assertFalse(borrowed.isClosed());
+        }
+        try (Connection again = pool.get()) {
+            assertFalse(again.isClosed()); // Returned on close, so the single slot is free again
+        }
+        assertEquals(pool.idleCount(), 1);
+        pool.close();
+        assertEquals(pool.idleCount(), 0);
+    }
+
+    @Test
+    public void testConnectionReturnedAfterCloseIsClosed() throws SQLException {
+        List<Connection> opened = new ArrayList<>();
+        ConnectionPool pool = new ConnectionPool(() -> {
+            Connection connection = dataSource.getConnection();
+            opened.add(connection);
+            return connection;
+        }, 0, 1, Duration.ofMillis(TIMEOUT_MILLIS));
+
+        Connection borrowed = pool.get();
+        pool.close();
+        borrowed.close();
+
+        assertEquals(pool.idleCount(), 0);
+        assertTrue(opened.get(0).isClosed());
+    }
+
+    @Test
+    public void testFailedStartupClosesConnectionsAlreadyOpened() throws SQLException {
+        List<Connection> opened = new ArrayList<>();
+        DatabaseConfigSource.ConnectionProvider failsOnThird = () -> {
+            if (opened.size() == 2) {
+                throw new SQLException("Database unavailable");
+            }
+            Connection connection = dataSource.getConnection();
+            opened.add(connection);
+            return connection;
+        };
+
+        assertThrows(SQLException.class, () -> new ConnectionPool(failsOnThird, 3, 3, Duration.ofMillis(TIMEOUT_MILLIS)));
+        assertEquals(opened.size(), 2);
+        for (Connection connection : opened) {
+            assertTrue(connection.isClosed());
+        }
+    }
+
+    @Test
+    public void testSlowDatabaseServesStaleSnapshotWithoutBlocking() throws Exception {
+        try (DatabaseConfigSource source = DatabaseConfigSource.pooled(dataSource, "default")) {
+            ConfNG.addSource(source);
+            Instant confirmed = source.getLastRefreshed();
+            dataSource.execute("UPDATE app_config SET config_value = '4.0.0' WHERE config_key = 'app.version' AND environment = 'default'");
+            dataSource.delayQueries(1500);
+
+            long start = System.nanoTime();
+            CompletableFuture<Integer> refresh = source.refreshAsync();
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(ConfNG.get(ApplicationConfig.APP_VERSION), "3.0.0");
+            }
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < TIMEOUT_MILLIS,
+                "Lookups must not wait for the slow refresh");
+
+            ExecutionException failure = expectThrows(ExecutionException.class, () -> refresh.get(2, TimeUnit.SECONDS));
+            assertTrue(failure.getCause() instanceof TimeoutException);
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000,
+                "The refresh deadline must not wait for the query");
+            assertTrue(source.getLastRefreshFailure().isPresent());
+            assertEquals(source.getLastRefreshed(), confirmed);
+            assertEquals(ConfNG.get(ApplicationConfig.APP_VERSION), "3.0.0");
+
+            // Calls during the slow refresh join it instead of queueing more queries
+            assertSame(source.refreshAsync(), refresh);
+        }
+    }
+
+    @Test
+    public void testRecoversOnceDatabaseIsFastAgain() throws Exception {
+        try (DatabaseConfigSource source = DatabaseConfigSource.pooled(dataSource, "default")) {
+            dataSource.execute("UPDATE app_config SET config_value = '4.0.0' WHERE config_key = 'app.version' AND environment = 'default'");
+            dataSource.delayQueries(400);
+            CompletableFuture<Integer> slow = source.refreshAsync();
+
+            // Wait for the deadline, while the query is still sleeping, before speeding up
+            ExecutionException failure = expectThrows(ExecutionException.class, () -> slow.get(2, TimeUnit.SECONDS));
+            assertTrue(failure.getCause() instanceof TimeoutException);
+            assertEquals(source.get("app.version").orElse(null), "3.0.0");
+            dataSource.removeDelay();
+
+            // The timed out refresh still completes in the background and is applied
+            long deadline = System.currentTimeMillis() + 2000;
+            while (!"4.0.0".equals(source.get("app.version").orElse(null)) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(source.get("app.version").orElse(null), "4.0.0");
+            assertEquals(source.refreshAsync().get(1, TimeUnit.SECONDS), Integer.valueOf(0));
+            assertFalse(source.getLastRefreshFailure().isPresent());
+        }
+    }
+
+    /**
+     * Highest-priority source with the pool settings for a test.
+     */
+    private static final class PoolSettings implements ConfigSource {
+
+        private final Map<String, String> values;
+
+        private PoolSettings(Map<String, String> values) {
+            this.values = values;
+        }
+
+        @Override
+        public String getName() {
+            return "PoolSettings";
+        }
+
+        @Override
+        public Optional<String> get(String key) {
+            return Optional.ofNullable(values.get(key));
+        }
+
+        @Override
+        public int getPriority() {
+            return 100;
+        }
+    }
+}
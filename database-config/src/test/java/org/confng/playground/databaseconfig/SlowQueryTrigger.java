@@ -0,0 +1,49 @@
+package org.confng.playground.databaseconfig;
+
+/**
+ * H2 trigger that delays every query on a table, to simulate a slow database.
+ *
+ * <p>Sleeps before each SELECT for the delay registered under the trigger's name, so every
+ * database can have its own delay. The trigger stays installed and the delay is changed
+ * instead, because H2 fails running queries when a trigger is dropped while it fires.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class SlowQueryTrigger implements Trigger {
+
+    private static final Map<String, Long> DELAYS = new ConcurrentHashMap<>();
+
+    private String triggerName;
+
+    /**
+     * Sets the delay of the trigger with the given name; 0 disables it.
+     */
+    static void setDelay(String triggerName, long millis) {
+        DELAYS.put(triggerName.toUpperCase(), millis);
+    }
+
+    @Override
+    public void init(Connection connection, String schemaName, String triggerName, String tableName,
+                     boolean before, int type) {
+        this.triggerName = triggerName;
+    }
+
+    @Override
+    public void fire(Connection connection, Object[] oldRow, Object[] newRow) {
+        try {
+            Thread.sleep(DELAYS.getOrDefault(triggerName, 0L));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.confng.playground.envvariables;
+
+import org.confng.api.ConfNGKey;
+import org.confng.sources.ConfigSource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Environment variable source backed by an immutable snapshot taken when it is created.
+ *
+ * <p>Environment variables cannot change inside a running JVM, so the snapshot is taken
+ * once instead of going through {@code System.getenv(...)} and translating the key on
+ * every lookup. At creation the source builds a translation table between dotted
+ * configuration keys and {@code UPPER_SNAKE} variable names, in both directions, and
+ * stores every value under both spellings. A lookup of {@code database.url} or
+ * {@code DATABASE_URL} is then one probe into an immutable map.</p>
+ *
+ * <p>Every variable is reachable under its own name and under the dotted form obtained by
+ * {@link #toKey(String)}, e.g. {@code API_KEY} as {@code api.key}. Keys that cannot be
+ * recovered from the variable name, such as {@code app.maxRetries} for
+ * {@code APP_MAXRETRIES}, are translated up front when their {@link ConfNGKey}s are
+ * passed to {@link #capture(Collection)}.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+public final class EnvSnapshotSource implements ConfigSource {
+
+    /** Same priority as ConfNG's built-in environment variable source. */
+    public static final int DEFAULT_PRIORITY = 60;
+
+    private final Map<String, String> values;
+    private final Map<String, String> keyToVariable;
+    private final Map<String, String> variableToKey;
+    private final int priority;
+
+    /**
+     * Creates a new EnvSnapshotSource.
+     *
+     * @param environment the variables to snapshot
+     * @param keys configuration keys to translate up front, in addition to every variable
+     * @param priority the source priority
+     */
+    EnvSnapshotSource(Map<String, String> environment, Collection<String> keys, int priority) {
+        Map<String, String> values = new HashMap<>();
+        Map<String, String> keyToVariable = new HashMap<>();
+        Map<String, String> variableToKey = new HashMap<>();
+
+        for (Map.Entry<String, String> variable : environment.entrySet()) {
+            String key = toKey(variable.getKey());
+            values.put(variable.getKey(), variable.getValue());
+            // Variables differing only in case translate to the same key; keep the same one every time
+            keyToVariable.merge(key, variable.getKey(), (first, second) -> first.compareTo(second) <= 0 ? first : second);
+            variableToKey.put(variable.getKey(), key);
+        }
+        for (String key : keys) {
+            String variable = toVariableName(key);
+            if (environment.containsKey(variable)) {
+                keyToVariable.put(key, variable);
+                variableToKey.put(variable, key);
+            }
+        }
+        // A variable's own name wins over a translated key with the same spelling
+        for (Map.Entry<String, String> translation : keyToVariable.entrySet()) {
+            values.putIfAbsent(translation.getKey(), environment.get(translation.getValue()));
+        }
+
+        this.values = Map.copyOf(values);
+        this.keyToVariable = Map.copyOf(keyToVariable);
+        this.variableToKey = Map.copyOf(variableToKey);
+        this.priority = priority;
+    }
+
+    /**
+     * Snapshots the current environment.
+     *
+     * @return the source, to be registered with {@code ConfNG.addSource}
+     */
+    public static EnvSnapshotSource capture() {
+        return capture(Collections.emptyList());
+    }
+
+    /**
+     * Snapshots the current environment and translates the keys of a configuration enum.
+     *
+     * @param keyClass the enum whose keys are read from environment variables
+     * @param <E> the enum type
+     * @return the source, to be registered with {@code ConfNG.addSource}
+     */
+    public static <E extends Enum<E> & ConfNGKey> EnvSnapshotSource capture(Class<E> keyClass) {
+        return capture(EnumSet.allOf(keyClass));
+    }
+
+    /**
+     * Snapshots the current environment and translates the given keys.
+     *
+     * @param keys the configuration keys read from environment variables
+     * @return the source, to be registered with {@code ConfNG.addSource}
+     */
+    public static EnvSnapshotSource capture(Collection<? extends ConfNGKey> keys) {
+        List<String> names = new ArrayList<>(keys.size());
+        for (ConfNGKey key : keys) {
+            names.add(key.getKey());
+        }
+        return new EnvSnapshotSource(System.getenv(), names, DEFAULT_PRIORITY);
+    }
+
+    /**
+     * Translates a configuration key to its environment variable name.
+     *
+     * @param key the key, e.g. "database.url" or "feature.new-ui"
+     * @return the variable name, e.g. "DATABASE_URL" or "FEATURE_NEW_UI"
+     */
+    public static String toVariableName(String key) {
+        return key.replace('.', '_').replace('-', '_').toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Translates an environment variable name to its dotted configuration key.
+     *
+     * @param variable the variable name, e.g. "DATABASE_URL"
+     * @return the key, e.g. "database.url"
+     */
+    public static String toKey(String variable) {
+        return variable.replace('_', '.').toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String getName() {
+        return "EnvironmentSnapshot";
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(values.get(key));
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Gets the environment variable a configuration key was read from.
+     *
+     * @param key the configuration key, e.g. "api.key"
+     * @return the variable name, e.g. "API_KEY", or empty if no variable maps to the key
+     */
+    public Optional<String> getVariableName(String key) {
+        return Optional.ofNullable(keyToVariable.get(key));
+    }
+
+    /**
+     * Gets the configuration key an environment variable is exposed as.
+     *
+     * @param variable the variable name, e.g. "API_KEY"
+     * @return the dotted key, e.g. "api.key", or empty if the variable was not set
+     */
+    public Optional<String> getKey(String variable) {
+        return Optional.ofNullable(variableToKey.get(variable));
+    }
+
+    /**
+     * Gets the number of captured environment variables.
+     *
+     * @return the variable count
+     */
+    public int size() {
+        return variableToKey.size();
+    }
+}
@@ -0,0 +1,115 @@
+package org.confng.playground.envvariables;
+
+/**
+ * Test class for the environment variable snapshot source.
+ * This class validates the dotted-key translation table and that later changes to the
+ * environment do not leak into a snapshot.
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+
+import org.confng.ConfNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.testng.Assert.*;
+
+public class EnvSnapshotSourceTest {
+
+    @AfterMethod
+    public void tearDown() {
+        ConfNG.clearSourcesAndUseDefaults();
+    }
+
+    @Test
+    public void testDottedKeysResolveToVariables() {
+        EnvSnapshotSource source = new EnvSnapshotSource(environment(), Collections.emptyList(), 60);
+
+        assertEquals(source.get("database.url"), Optional.of("jdbc:postgresql://localhost:5432/testdb"));
+        assertEquals(source.get("DATABASE_URL"), Optional.of("jdbc:postgresql://localhost:5432/testdb"));
+        assertEquals(source.get("api.key"), Optional.of("sk-test-key-12345"));
+        assertEquals(source.get("api.timeout"), Optional.of("10000"));
+        assertFalse(source.get("missing.key").isPresent());
+    }
+
+    @Test
+    public void testTranslationTableWorksInBothDirections() {
+        EnvSnapshotSource source = new EnvSnapshotSource(environment(), Collections.emptyList(), 60);
+
+        assertEquals(source.getVariableName("database.username"), Optional.of("DATABASE_USERNAME"));
+        assertEquals(source.getKey("DATABASE_USERNAME"), Optional.of("database.username"));
+        assertFalse(source.getVariableName("missing.key").isPresent());
+        assertEquals(source.size(), 8);
+
+        assertEquals(EnvSnapshotSource.toVariableName("feature.new-ui"), "FEATURE_NEW_UI");
+        assertEquals(EnvSnapshotSource.toKey("API_TIMEOUT"), "api.timeout");
+    }
+
+    @Test
+    public void testDeclaredKeysAreTranslatedUpFront() {
+        Map<String, String> environment = environment();
+        environment.put("APP_MAXRETRIES", "5");
+        EnvSnapshotSource source = new EnvSnapshotSource(environment, Arrays.asList("app.maxRetries", "app.missing"), 60);
+
+        // Camel case cannot be recovered from the variable name
+        assertEquals(source.get("app.maxRetries"), Optional.of("5"));
+        assertEquals(source.get("app.maxretries"), Optional.of("5"));
+        assertEquals(source.getKey("APP_MAXRETRIES"), Optional.of("app.maxRetries"));
+        assertFalse(source.get("app.missing").isPresent());
+    }
+
+    @Test
+    public void testSnapshotIsImmutable() {
+        Map<String, String> environment = environment();
+        EnvSnapshotSource source = new EnvSnapshotSource(environment, Collections.emptyList(), 60);
+
+        environment.put("APP_NAME", "Changed");
+        environment.put("NEW_VARIABLE", "value");
+
+        assertEquals(source.get("app.name"), Optional.of("ConfNG Environment Example"));
+        assertFalse(source.get("new.variable").isPresent());
+    }
+
+    @Test
+    public void testRegisteredSnapshotServesEnvConfig() {
+        ConfNG.addSource(new EnvSnapshotSource(environment(), Collections.emptyList(), 70));
+
+        assertEquals(ConfNG.get(EnvConfig.APP_NAME), "ConfNG Environment Example");
+        assertEquals(ConfNG.get(EnvConfig.DATABASE_URL), "jdbc:postgresql://localhost:5432/testdb");
+        assertEquals(ConfNG.getInt(EnvConfig.API_TIMEOUT), Integer.valueOf(10000));
+        assertEquals(ConfNG.getSourceInfo(EnvConfig.API_KEY).getSourceName(), "EnvironmentSnapshot");
+    }
+
+    @Test
+    public void testCaptureReadsCurrentEnvironment() {
+        EnvSnapshotSource source = EnvSnapshotSource.capture(EnvConfig.class);
+
+        assertEquals(source.size(), System.getenv().size());
+        for (Map.Entry<String, String> variable : System.getenv().entrySet()) {
+            assertEquals(source.get(variable.getKey()), Optional.of(variable.getValue()));
+        }
+    }
+
+    private static Map<String, String> environment() {
+        // Same variables as the test task in build.gradle
+        Map<String, String> environment = new HashMap<>();
+        environment.put("APP_NAME", "ConfNG Environment Example");
+        environment.put("APP_VERSION", "2.0.0");
+        environment.put("APP_DEBUG", "true");
+        environment.put("DATABASE_URL", "jdbc:postgresql://localhost:5432/testdb");
+        environment.put("DATABASE_USERNAME", "testuser");
+        environment.put("DATABASE_PASSWORD", "secret123");
+        environment.put("API_KEY", "sk-test-key-12345");
+        environment.put("API_TIMEOUT", "10000");
+        return environment;
+    }
+}
@@ -0,0 +1,377 @@
+package org.confng.playground.envloading;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Minimal parsers that turn configuration file contents into flat key/value maps.
+ *
+ * <p>The parsers cover what the playground's configuration files use and nothing more:</p>
+ * <ul>
+ *   <li>Properties: everything {@link Properties#load} supports</li>
+ *   <li>JSON: a root object; nested objects are flattened to dotted keys, scalars and
+ *       arrays are kept in their text form</li>
+ *   <li>TOML: bare or dotted keys, quoted strings, numbers, booleans and one level of
+ *       {@code [section]} tables</li>
+ * </ul>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+final class ConfigFileParsers {
+
+    /** Section name used for TOML keys that appear before the first table header. */
+    static final String TOML_ROOT = "";
+
+    private static final String HEX_DIGITS = "0123456789abcdef";
+
+    private ConfigFileParsers() {
+    }
+
+    /**
+     * Parses a properties file.
+     *
+     * @param file the file name, used in error messages
+     * @param content the file contents
+     * @return the key/value pairs in file order
+     * @throws IllegalStateException if the file is malformed, e.g. has an invalid unicode escape
+     */
+    static Map<String, String> parseProperties(String file, String content) {
+        Map<String, String> values = new LinkedHashMap<>();
+        Properties properties = new Properties() {
+            @Override
+            public synchronized Object put(Object key, Object value) {
+                values.put(String.valueOf(key), String.valueOf(value));
+                return super.put(key, value);
+            }
+        };
+        try {
+            properties.load(new StringReader(content));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Failed to parse properties file " + file, e);
+        }
+        return values;
+    }
+
+    /**
+     * Parses a JSON document whose root is an object.
+     *
+     * @param file the file name, used in error messages
+     * @param content the file contents
+     * @return the flattened key/value pairs in document order
+     * @throws IllegalStateException if the document is not valid JSON or not an object
+     */
+    static Map<String, String> parseJson(String file, String content) {
+        JsonReader reader = new JsonReader(file, content);
+        Map<String, String> values = new LinkedHashMap<>();
+        reader.skipWhitespace();
+        if (reader.peek() != '{') {
+            throw new IllegalStateException("JSON root must be an object in " + file);
+        }
+        reader.readObject("", values);
+        reader.skipWhitespace();
+        if (!reader.atEnd()) {
+            throw reader.error("Unexpected content after root object");
+        }
+        return values;
+    }
+
+    /**
+     * Parses a TOML document into its root keys and one map per table.
+     *
+     * @param file the file name, used in error messages
+     * @param content the file contents
+     * @return the key/value pairs per section, with {@link #TOML_ROOT} for root keys
+     * @throws IllegalStateException if a line cannot be parsed
+     */
+    static Map<String, Map<String, String>> parseToml(String file, String content) {
+        Map<String, Map<String, String>> sections = new LinkedHashMap<>();
+        Map<String, String> current = new LinkedHashMap<>();
+        sections.put(TOML_ROOT, current);
+
+        String[] lines = content.split("\r?\n");
+        for (int number = 0; number < lines.length; number++) {
+            String line = stripTomlComment(lines[number]).trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            if (line.startsWith("[")) {
+                if (!line.endsWith("]") || line.startsWith("[[")) {
+                    throw new IllegalStateException("Unsupported TOML table header at line " + (number + 1) + " of " + file + ": " + line);
+                }
+                String section = line.substring(1, line.length() - 1).trim();
+                current = sections.computeIfAbsent(section, name -> new LinkedHashMap<>());
+                continue;
+            }
+
+            int equals = line.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalStateException("Invalid TOML line " + (number + 1) + " of " + file + ": " + line);
+            }
+            String key = unquote(line.substring(0, equals).trim());
+            current.put(key, tomlValue(file, line.substring(equals + 1).trim()));
+        }
+        return sections;
+    }
+
+    private static String tomlValue(String file, String raw) {
+        if (raw.length() >= 2 && raw.startsWith("\"") && raw.endsWith("\"")) {
+            return unescape(file, raw.substring(1, raw.length() - 1));
+        }
+        if (raw.length() >= 2 && raw.startsWith("'") && raw.endsWith("'")) {
+            return raw.substring(1, raw.length() - 1); // Literal string, no escapes
+        }
+        return raw;
+    }
+
+    private static String unquote(String key) {
+        if (key.length() >= 2 && (key.startsWith("\"") && key.endsWith("\"") || key.startsWith("'") && key.endsWith("'"))) {
+            return key.substring(1, key.length() - 1);
+        }
+        return key;
+    }
+
+    /**
+     * Removes a trailing comment, ignoring '#' inside quoted strings.
+     */
+    private static String stripTomlComment(String line) {
+        char quote = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quote != 0) {
+                if (c == '\\' && quote == '"') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '#') {
+                return line.substring(0, i);
+            }
+        }
+        return line;
+    }
+
+    /**
+     * Decodes the escapes of a JSON or basic TOML string: {@code \b \f \n \r \t \" \\ \/},
+     * {@code \}{@code uXXXX} and TOML's {@code \}{@code UXXXXXXXX}.
+     *
+     * @throws IllegalStateException if an escape is unknown, truncated or not hexadecimal
+     */
+    private static String unescape(String file, String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\') {
+                result.append(c);
+                continue;
+            }
+            if (i + 1 == value.length()) {
+                throw new IllegalStateException("Unterminated escape in " + file + ": " + value);
+            }
+            char next = value.charAt(++i);
+            switch (next) {
+                case 'b':
+                    result.append('\b');
+                    break;
+                case 'f':
+                    result.append('\f');
+                    break;
+                case 'n':
+                    result.append('\n');
+                    break;
+                case 't':
+                    result.append('\t');
+                    break;
+                case 'r':
+                    result.append('\r');
+                    break;
+                case '"':
+                case '\\':
+                case '/':
+                    result.append(next);
+                    break;
+                case 'u':
+                    i = appendCodePoint(file, value, i, 4, result);
+                    break;
+                case 'U':
+                    i = appendCodePoint(file, value, i, 8, result);
+                    break;
+                default:
+                    throw new IllegalStateException("Invalid escape \\" + next + " in " + file + ": " + value);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Decodes the hex digits following the {@code u} or {@code U} at {@code index}.
+     *
+     * @return the index of the last digit
+     */
+    private static int appendCodePoint(String file, String value, int index, int digits, StringBuilder result) {
+        if (index + digits >= value.length()) {
+            throw new IllegalStateException("Truncated \\" + value.charAt(index) + " escape in " + file + ": " + value);
+        }
+        long codePoint = 0;
+        for (int i = index + 1; i <= index + digits; i++) {
+            int digit = HEX_DIGITS.indexOf(Character.toLowerCase(value.charAt(i)));
+            if (digit < 0) {
+                throw new IllegalStateException("Invalid \\" + value.charAt(index) + " escape in " + file + ": " + value);
+            }
+            codePoint = codePoint * 16 + digit;
+        }
+        if (codePoint > Character.MAX_CODE_POINT) {
+            throw new IllegalStateException("Invalid code point in \\" + value.charAt(index) + " escape in " + file + ": " + value);
+        }
+        result.appendCodePoint((int) codePoint);
+        return index + digits;
+    }
+
+    /**
+     * Recursive-descent reader for the subset of JSON used by configuration files.
+     */
+    private static final class JsonReader {
+
+        private final String file;
+        private final String text;
+        private int position;
+
+        private JsonReader(String file, String text) {
+            this.file = file;
+            this.text = text;
+        }
+
+        private void readObject(String prefix, Map<String, String> values) {
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                return;
+            }
+
+            while (true) {
+                skipWhitespace();
+                String name = readString();
+                String key = prefix.isEmpty() ? name : prefix + "." + name;
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+
+                if (peek() == '{') {
+                    readObject(key, values);
+                } else {
+                    String value = readValue();
+                    if (value != null) {
+                        values.put(key, value);
+                    }
+                }
+
+                skipWhitespace();
+                char c = next();
+                if (c == '}') {
+                    return;
+                } else if (c != ',') {
+                    throw error("Expected ',' or '}'");
+                }
+            }
+        }
+
+        /**
+         * Reads a scalar or an array and returns its text form, or null for JSON null.
+         */
+        private String readValue() {
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            } else if (c == '[') {
+                int start = position;
+                skipArray();
+                return text.substring(start, position);
+            }
+
+            int start = position;
+            while (!atEnd() && ",}] \t\r\n".indexOf(peek()) < 0) {
+                position++;
+            }
+            String literal = text.substring(start, position);
+            if (literal.isEmpty()) {
+                throw error("Expected a value");
+            }
+            return "null".equals(literal) ? null : literal;
+        }
+
+        private void skipArray() {
+            int depth = 0;
+            do {
+                char c = next();
+                if (c == '"') {
+                    position--;
+                    readString();
+                } else if (c == '[' || c == '{') {
+                    depth++;
+                } else if (c == ']' || c == '}') {
+                    depth--;
+                }
+            } while (depth > 0);
+        }
+
+        private String readString() {
+            expect('"');
+            int start = position;
+            boolean escaped = false;
+            while (true) {
+                char c = next();
+                if (c == '\\') {
+                    escaped = true;
+                    position++;
+                } else if (c == '"') {
+                    String raw = text.substring(start, position - 1);
+                    return escaped ? unescape(file, raw) : raw;
+                }
+            }
+        }
+
+        private void skipWhitespace() {
+            while (!atEnd() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw error("Expected '" + expected + "'");
+            }
+        }
+
+        private char peek() {
+            if (atEnd()) {
+                throw error("Unexpected end of document");
+            }
+            return text.charAt(position);
+        }
+
+        private char next() {
+            char c = peek();
+            position++;
+            return c;
+        }
+
+        private boolean atEnd() {
+            return position >= text.length();
+        }
+
+        private IllegalStateException error(String message) {
+            return new IllegalStateException(message + " at offset " + position + " of " + file);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.confng.playground.envloading;
+
+import org.confng.sources.ConfigSource;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Configuration source backed by an already parsed configuration file.
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+public final class FileConfigSource implements ConfigSource {
+
+    private final String name;
+    private final Map<String, String> values;
+    private final NormalizedKeyIndex index;
+    private final int priority;
+
+    /**
+     * Creates a new FileConfigSource.
+     *
+     * @param name the source name, e.g. "Properties(global.properties)"
+     * @param values the parsed key/value pairs
+     * @param priority the source priority
+     */
+    public FileConfigSource(String name, Map<String, String> values, int priority) {
+        this.name = name;
+        this.values = Collections.unmodifiableMap(new HashMap<>(values));
+        this.index = NormalizedKeyIndex.of(this.values);
+        this.priority = priority;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(values.get(key));
+    }
+
+    /**
+     * Gets a value ignoring case and the difference between {@code _} and {@code .}, so
+     * {@code DB_HOST}, {@code db_host} and {@code db.host} find the same entry. An exact
+     * match wins over a folded one.
+     *
+     * @param key the key in any case
+     * @return the value, or empty if no key matches
+     */
+    public Optional<String> getIgnoreCase(String key) {
+        String value = values.get(key);
+        return Optional.ofNullable(value != null ? value : index.get(key));
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Gets all values of this source.
+     *
+     * @return an unmodifiable map of keys to values
+     */
+    public Map<String, String> getValues() {
+        return values;
+    }
+}
@@ -0,0 +1,154 @@
+package org.confng.playground.envloading;
+
+import java.util.Map;
+
+/**
+ * Case-insensitive, separator-insensitive index over a fixed set of configuration keys.
+ *
+ * <p>Keys are compared after folding case and treating {@code _} and {@code .} as the same
+ * character, so {@code APP_ENV}, {@code app_env}, {@code App.Env} and {@code app.env} are
+ * one key. The folding is done once per key when the index is built; a lookup hashes the
+ * requested key while folding it character by character and compares in place, so it is
+ * a single probe of an open-addressing table and allocates nothing.</p>
+ *
+ * <p>When several keys fold to the same form, e.g. {@code DB_HOST} and {@code db.host},
+ * the one that sorts first by {@link String#compareTo(String)} wins, so the result does
+ * not depend on map iteration order. Callers that want an exact match to take precedence
+ * check the original map first.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+public final class NormalizedKeyIndex {
+
+    private static final NormalizedKeyIndex EMPTY = new NormalizedKeyIndex(new String[1], new String[1], new int[1], 0);
+
+    private final String[] keys;
+    private final String[] values;
+    private final int[] hashes;
+    private final int size;
+
+    private NormalizedKeyIndex(String[] keys, String[] values, int[] hashes, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.hashes = hashes;
+        this.size = size;
+    }
+
+    /**
+     * Builds an index over a snapshot of a map.
+     *
+     * @param source the keys and values; null keys and values are skipped
+     * @return the index
+     */
+    public static NormalizedKeyIndex of(Map<String, String> source) {
+        if (source.isEmpty()) {
+            return EMPTY;
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, source.size() * 2 - 1)) << 1; // Load factor <= 0.5
+        String[] keys = new String[capacity];
+        String[] values = new String[capacity];
+        int[] hashes = new int[capacity];
+        int size = 0;
+
+        for (Map.Entry<String, String> entry : source.entrySet()) {
+            String key = entry.getKey();
+            if (key == null || entry.getValue() == null) {
+                continue;
+            }
+            int hash = hash(key);
+            int slot = hash & (capacity - 1);
+            while (keys[slot] != null && !(hashes[slot] == hash && foldedEquals(keys[slot], key))) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            if (keys[slot] == null) {
+                size++;
+            } else if (keys[slot].compareTo(key) < 0) {
+                continue;
+            }
+            keys[slot] = key;
+            values[slot] = entry.getValue();
+            hashes[slot] = hash;
+        }
+        return new NormalizedKeyIndex(keys, values, hashes, size);
+    }
+
+    /**
+     * Looks up a key ignoring case and the difference between {@code _} and {@code .}.
+     *
+     * @param key the key in any case, e.g. "App_Env"
+     * @return the value, or null if no key matches
+     */
+    public String get(CharSequence key) {
+        int slot = find(key);
+        return slot < 0 ? null : values[slot];
+    }
+
+    /**
+     * Finds the original spelling of a key.
+     *
+     * @param key the key in any case, e.g. "app.env"
+     * @return the key as it appears in the source map, e.g. "APP_ENV", or null if no key matches
+     */
+    public String originalKey(CharSequence key) {
+        int slot = find(key);
+        return slot < 0 ? null : keys[slot];
+    }
+
+    /**
+     * Gets the number of distinct folded keys.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    private int find(CharSequence key) {
+        int hash = hash(key);
+        int mask = keys.length - 1;
+        int slot = hash & mask;
+        String candidate;
+        while ((candidate = keys[slot]) != null) {
+            if (hashes[slot] == hash && foldedEquals(candidate, key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Folds one character: lower case, with {@code _} mapped to {@code .}.
+     */
+    private static char fold(char c) {
+        if (c == '_') {
+            return '.';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return (char) (c + ('a' - 'A'));
+        }
+        return c < 0x80 ? c : Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static int hash(CharSequence key) {
+        int hash = 0;
+        for (int i = 0; i < key.length(); i++) {
+            hash = 31 * hash + fold(key.charAt(i));
+        }
+        return hash ^ (hash >>> 16); // Spread the high bits into the slot index
+    }
+
+    private static boolean foldedEquals(String stored, CharSequence key) {
+        if (stored.length() != key.length()) {
+            return false;
+        }
+        for (int i = 0; i < stored.length(); i++) {
+            if (fold(stored.charAt(i)) != fold(key.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,307 @@
+package org.confng.playground.envloading;
+
+import org.confng.ConfNG;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads global, common and environment-specific configuration files concurrently.
+ *
+ * <p>{@code ConfNG.loadGlobalConfig()} followed by {@code ConfNG.autoLoadConfig()} probes
+ * every candidate file one after another. This loader submits the probe, read and parse
+ * of each candidate to a bounded thread pool, so cold start is bounded by the slowest
+ * file rather than the sum of all files. Registration happens on the calling thread
+ * once every file is parsed, with the same precedence as the sequential loading
+ * (lowest to highest):</p>
+ * <ol>
+ *   <li>global files ({@link #GLOBAL_PRIORITY})</li>
+ *   <li>common files ({@link #COMMON_PRIORITY})</li>
+ *   <li>the {@code [environment]} table of {@code global.toml}, then the environment's
+ *       own files ({@link #ENVIRONMENT_PRIORITY})</li>
+ * </ol>
+ *
+ * <p>Within a group, {@code .properties} wins over {@code .json}, which wins over
+ * {@code .toml}. TOML files are indexed with {@link TomlSectionIndex}, so the tables of
+ * other environments are skipped rather than parsed. Every file stays below system
+ * properties (50) and environment variables (60). Files are resolved on the classpath;
+ * missing files are skipped. YAML files are not supported because this example has no
+ * YAML parser on its classpath.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+public final class ParallelConfigLoader {
+
+    /** Base priority of global.* files. */
+    public static final int GLOBAL_PRIORITY = 20;
+
+    /** Base priority of common.* files. */
+    public static final int COMMON_PRIORITY = 24;
+
+    /** Base priority of environment-specific configuration. */
+    public static final int ENVIRONMENT_PRIORITY = 28;
+
+    /** Keys that select the environment, in the order they are checked. */
+    public static final String[] ENVIRONMENT_KEYS = {"APP_ENV", "ENVIRONMENT", "ENV"};
+
+    /** Environment used when none of the {@link #ENVIRONMENT_KEYS} is set. */
+    public static final String DEFAULT_ENVIRONMENT = "local";
+
+    private static final String[] FORMATS = {"properties", "json", "toml"};
+
+    private static volatile NormalizedKeyIndex propertiesIndex;
+
+    private final ClassLoader classLoader;
+    private final int parallelism;
+
+    /**
+     * Creates a loader that reads from the context class loader with one thread per CPU.
+     */
+    public ParallelConfigLoader() {
+        this(Thread.currentThread().getContextClassLoader(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new ParallelConfigLoader.
+     *
+     * @param classLoader the class loader used to resolve configuration files
+     * @param parallelism the maximum number of files read at the same time
+     */
+    public ParallelConfigLoader(ClassLoader classLoader, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.classLoader = classLoader;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Loads all configuration files for an environment and registers them with ConfNG.
+     *
+     * @param environment the environment name, e.g. "uat"; null loads only global and common files
+     * @return the registered sources, in registration order
+     * @throws IllegalStateException if an existing file cannot be read or parsed
+     */
+    public List<FileConfigSource> loadAndRegister(String environment) {
+        List<FileConfigSource> sources = load(environment);
+        for (FileConfigSource source : sources) {
+            ConfNG.addSource(source);
+        }
+        return sources;
+    }
+
+    /**
+     * Loads all configuration files for an environment without registering them.
+     *
+     * @param environment the environment name, e.g. "uat", surrounding whitespace ignored;
+     *                    null or blank loads only global and common files
+     * @return the loaded sources, lowest priority first
+     * @throws IllegalStateException if an existing file cannot be read or parsed
+     */
+    public List<FileConfigSource> load(String environment) {
+        String active = environment == null || environment.trim().isEmpty() ? null : environment.trim();
+        List<Candidate> files = candidates(active);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, files.size()), daemonThreads());
+        try {
+            List<Future<List<Map<String, String>>>> results = new ArrayList<>(files.size());
+            for (Candidate candidate : files) {
+                results.add(executor.submit(() -> read(candidate.file, active)));
+            }
+
+            List<FileConfigSource> sources = new ArrayList<>();
+            for (int i = 0; i < files.size(); i++) {
+                Candidate candidate = files.get(i);
+                List<Map<String, String>> parsed = await(results.get(i), candidate.file);
+                for (int part = 0; part < parsed.size(); part++) {
+                    if (part == 0) {
+                        sources.add(new FileConfigSource(sourceName(candidate.file), parsed.get(part), candidate.priority));
+                    } else {
+                        sources.add(new FileConfigSource(sourceName(candidate.file) + "[" + active + "]",
+                            parsed.get(part), ENVIRONMENT_PRIORITY));
+                    }
+                }
+            }
+            sources.sort(Comparator.comparingInt(FileConfigSource::getPriority));
+            return sources;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Detects the environment from environment variables and system properties, in that
+     * order of precedence. Keys match in any case and with {@code .} in place of
+     * {@code _}, so {@code APP_ENV}, {@code app_env} and {@code -Dapp.env} all work.
+     *
+     * <p>Environment variables cannot change while the JVM runs and are indexed once. The
+     * system properties are indexed on first use as well, so every call is one volatile
+     * read and one hash probe per key and source, without touching the {@code Properties}
+     * lock. A property set later is only seen after {@link #refreshSystemProperties()}.</p>
+     *
+     * @return the first non-blank value of the {@link #ENVIRONMENT_KEYS}, or
+     *         {@link #DEFAULT_ENVIRONMENT}
+     */
+    public static String detectEnvironment() {
+        return detectEnvironment(EnvironmentIndex.INSTANCE, propertiesIndex());
+    }
+
+    /**
+     * Detects the environment from indexed sources, highest precedence first. Each key
+     * costs one probe per source, whatever its case.
+     */
+    static String detectEnvironment(NormalizedKeyIndex... sources) {
+        for (String key : ENVIRONMENT_KEYS) {
+            for (NormalizedKeyIndex source : sources) {
+                String value = source.get(key);
+                if (value != null && !value.trim().isEmpty()) {
+                    return value.trim();
+                }
+            }
+        }
+        return DEFAULT_ENVIRONMENT;
+    }
+
+    /**
+     * Indexes the system properties again, so {@link #detectEnvironment()} sees properties
+     * set or cleared since the previous index was built.
+     */
+    public static void refreshSystemProperties() {
+        propertiesIndex = indexSystemProperties();
+    }
+
+    private static NormalizedKeyIndex propertiesIndex() {
+        NormalizedKeyIndex current = propertiesIndex;
+        if (current == null) {
+            // Racing threads each build an equal index; the last write wins
+            current = indexSystemProperties();
+            propertiesIndex = current;
+        }
+        return current;
+    }
+
+    private static NormalizedKeyIndex indexSystemProperties() {
+        Properties properties = System.getProperties();
+        Map<String, String> values = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, properties.getProperty(name));
+        }
+        return NormalizedKeyIndex.of(values);
+    }
+
+    private static List<Candidate> candidates(String environment) {
+        List<Candidate> files = new ArrayList<>();
+        addCandidates(files, "global", GLOBAL_PRIORITY);
+        addCandidates(files, "common", COMMON_PRIORITY);
+        if (environment != null) {
+            addCandidates(files, environment, ENVIRONMENT_PRIORITY);
+        }
+        return files;
+    }
+
+    private static void addCandidates(List<Candidate> files, String baseName, int basePriority) {
+        for (int i = 0; i < FORMATS.length; i++) {
+            files.add(new Candidate(baseName + "." + FORMATS[i], basePriority + FORMATS.length - i));
+        }
+    }
+
+    /**
+     * Probes, reads and parses one candidate file.
+     *
+     * @return no maps if the file does not exist, otherwise the file's values, followed by
+     *         the environment table for TOML files that have one
+     */
+    private List<Map<String, String>> read(String file, String environment) throws IOException {
+        URL resource = classLoader.getResource(file);
+        if (resource == null) {
+            return Collections.emptyList();
+        }
+
+        byte[] content;
+        try (InputStream in = resource.openStream()) {
+            content = in.readAllBytes();
+        }
+
+        if (file.endsWith(".properties")) {
+            return Collections.singletonList(ConfigFileParsers.parseProperties(file, new String(content, StandardCharsets.UTF_8)));
+        } else if (file.endsWith(".json")) {
+            return Collections.singletonList(ConfigFileParsers.parseJson(file, new String(content, StandardCharsets.UTF_8)));
+        }
+
+        // Only the root table and, for global.toml, the active environment's table are parsed
+        TomlSectionIndex index = TomlSectionIndex.scan(file, content);
+        List<Map<String, String>> parts = new ArrayList<>(2);
+        parts.add(index.common());
+        if (environment != null && file.startsWith("global.") && index.hasSection(environment)) {
+            parts.add(index.section(environment));
+        }
+        return parts;
+    }
+
+    private static List<Map<String, String>> await(Future<List<Map<String, String>>> result, String file) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading " + file, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load configuration file: " + file, e.getCause());
+        }
+    }
+
+    private static String sourceName(String file) {
+        if (file.endsWith(".properties")) {
+            return "Properties(" + file + ")";
+        } else if (file.endsWith(".json")) {
+            return "JSON(" + file + ")";
+        }
+        return "TOML(" + file + ")";
+    }
+
+    /**
+     * A file to probe together with the priority it is registered with.
+     */
+    private static final class Candidate {
+
+        private final String file;
+        private final int priority;
+
+        private Candidate(String file, int priority) {
+            this.file = file;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * Index of the environment variables, built on first use.
+     */
+    private static final class EnvironmentIndex {
+
+        private static final NormalizedKeyIndex INSTANCE = NormalizedKeyIndex.of(System.getenv());
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "config-loader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,162 @@
+package org.confng.playground.envloading;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Byte-offset index of the {@code [section]} tables of a TOML file.
+ *
+ * <p>{@link #scan(String, byte[])} makes one pass over the raw bytes and only records where each
+ * table header starts; no key or value is decoded. {@link #common()} and
+ * {@link #section(String)} then decode and parse just the byte ranges of the requested
+ * table, once, and cache the result. A {@code global.toml} with dozens of environment
+ * tables costs one scan plus the common block and the active environment's table.</p>
+ *
+ * <p>Parsing uses the same TOML subset as {@link ConfigFileParsers#parseToml(String, String)}.
+ * Table headers must start a line; array tables ({@code [[name]]}) are rejected.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+public final class TomlSectionIndex {
+
+    private final String file;
+    private final byte[] content;
+    private final int commonEnd;
+    private final Map<String, List<int[]>> sections;
+    private final Map<String, Map<String, String>> parsed = new ConcurrentHashMap<>();
+
+    private TomlSectionIndex(String file, byte[] content, int commonEnd, Map<String, List<int[]>> sections) {
+        this.file = file;
+        this.content = content;
+        this.commonEnd = commonEnd;
+        this.sections = sections;
+    }
+
+    /**
+     * Indexes the table headers of a UTF-8 encoded TOML file.
+     *
+     * @param file the file name, used in error messages
+     * @param content the file contents; kept by the index, so not modified afterwards
+     * @return the index
+     * @throws IllegalStateException if a table header is malformed
+     */
+    public static TomlSectionIndex scan(String file, byte[] content) {
+        Map<String, List<int[]>> sections = new LinkedHashMap<>();
+        int commonEnd = content.length;
+        int[] current = null;
+
+        int lineStart = 0;
+        while (lineStart < content.length) {
+            int lineEnd = lineStart;
+            while (lineEnd < content.length && content[lineEnd] != '\n') {
+                lineEnd++;
+            }
+
+            int first = lineStart;
+            while (first < lineEnd && (content[first] == ' ' || content[first] == '\t')) {
+                first++;
+            }
+            if (first < lineEnd && content[first] == '[') {
+                String name = headerName(file, content, first, lineEnd);
+                if (current == null) {
+                    commonEnd = lineStart;
+                } else {
+                    current[1] = lineStart;
+                }
+                current = new int[]{lineStart, content.length};
+                sections.computeIfAbsent(name, section -> new ArrayList<>(1)).add(current);
+            }
+            lineStart = lineEnd + 1;
+        }
+        return new TomlSectionIndex(file, content, commonEnd, sections);
+    }
+
+    /**
+     * Gets the names of all tables, in file order.
+     *
+     * @return an unmodifiable set of table names, e.g. "dev", "uat", "prod"
+     */
+    public Set<String> sectionNames() {
+        return Collections.unmodifiableSet(sections.keySet());
+    }
+
+    /**
+     * Checks whether the file has a table.
+     *
+     * @param name the table name
+     * @return true if the table exists
+     */
+    public boolean hasSection(String name) {
+        return sections.containsKey(name);
+    }
+
+    /**
+     * Gets the keys before the first table header, parsing them on first use.
+     *
+     * @return an unmodifiable map of the common keys
+     */
+    public Map<String, String> common() {
+        return parsed.computeIfAbsent(ConfigFileParsers.TOML_ROOT, root -> Collections.unmodifiableMap(
+            ConfigFileParsers.parseToml(file, decode(0, commonEnd)).get(ConfigFileParsers.TOML_ROOT)));
+    }
+
+    /**
+     * Gets the keys of one table, parsing only that table on first use.
+     *
+     * @param name the table name
+     * @return an unmodifiable map of the table's keys; empty if the table does not exist
+     */
+    public Map<String, String> section(String name) {
+        List<int[]> ranges = sections.get(name);
+        if (ranges == null) {
+            return Collections.emptyMap();
+        }
+        return parsed.computeIfAbsent(name, section -> {
+            StringBuilder text = new StringBuilder();
+            for (int[] range : ranges) {
+                text.append(decode(range[0], range[1])).append('\n');
+            }
+            Map<String, String> values = ConfigFileParsers.parseToml(file, text.toString()).get(section);
+            return Collections.unmodifiableMap(values == null ? new LinkedHashMap<>() : values);
+        });
+    }
+
+    /**
+     * Gets the names of the tables parsed so far; the common block is reported as "".
+     *
+     * @return the parsed table names
+     */
+    Set<String> parsedSections() {
+        return Collections.unmodifiableSet(parsed.keySet());
+    }
+
+    private String decode(int start, int end) {
+        return new String(content, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the name of a table header the same way {@link ConfigFileParsers#parseToml}
+     * does: the trimmed text between the brackets.
+     */
+    private static String headerName(String file, byte[] content, int open, int lineEnd) {
+        if (open + 1 < lineEnd && content[open + 1] == '[') {
+            throw new IllegalStateException("Unsupported TOML array table at offset " + open + " of " + file);
+        }
+        int close = open + 1;
+        while (close < lineEnd && content[close] != ']') {
+            close++;
+        }
+        if (close == lineEnd) {
+            throw new IllegalStateException("Unterminated TOML table header at offset " + open + " of " + file);
+        }
+        return new String(content, open + 1, close - open - 1, StandardCharsets.UTF_8).trim();
+    }
+}
@@ -0,0 +1,72 @@
+package org.confng.playground.envloading;
+
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies how the JSON and TOML parsers decode string escapes.
+ *
+ * <p>Malformed escapes fail with an {@link IllegalStateException} that names the file,
+ * like every other parse error.</p>
+ */
+public class ConfigFileParsersTest {
+
+    @Test
+    public void testJsonDecodesEveryEscape() {
+        Map<String, String> values = ConfigFileParsers.parseJson("escapes.json",
+            "{\"text\": \"a\\bb\\fc\\nd\\re\\tf\\\"g\\\\h\\/i\", \"unicode\": \"caf\\u00e9 \\uD83D\\uDE00\"}");
+
+        assertThat(values)
+            .containsEntry("text", "a\bb\fc\nd\re\tf\"g\\h/i")
+            .containsEntry("unicode", "caf\u00e9 \uD83D\uDE00");
+    }
+
+    @Test
+    public void testTomlDecodesEveryEscape() {
+        Map<String, String> values = ConfigFileParsers.parseToml("escapes.toml", String.join("\n",
+            "text = \"a\\bb\\fc\\nd\\te\\\"f\\\\g\"",
+            "short = \"caf\\u00E9\"",
+            "long = \"smile \\U0001F600\"",
+            "literal = 'C:\\temp\\new'"))
+            .get(ConfigFileParsers.TOML_ROOT);
+
+        assertThat(values)
+            .containsEntry("text", "a\bb\fc\nd\te\"f\\g")
+            .containsEntry("short", "caf\u00e9")
+            .containsEntry("long", "smile \uD83D\uDE00")
+            .containsEntry("literal", "C:\\temp\\new");
+    }
+
+    @Test
+    public void testTruncatedUnicodeEscapeNamesTheFile() {
+        assertThatThrownBy(() -> ConfigFileParsers.parseJson("short.json", "{\"key\": \"ab\\u12\"}"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("short.json");
+        assertThatThrownBy(() -> ConfigFileParsers.parseToml("short.toml", "key = \"ab\\u1\""))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("short.toml");
+        assertThatThrownBy(() -> ConfigFileParsers.parseToml("short.toml", "key = \"\\U0001F6\""))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("short.toml");
+    }
+
+    @Test
+    public void testInvalidEscapesNameTheFile() {
+        assertThatThrownBy(() -> ConfigFileParsers.parseJson("hex.json", "{\"key\": \"\\u12G4\"}"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("hex.json");
+        assertThatThrownBy(() -> ConfigFileParsers.parseJson("unknown.json", "{\"key\": \"\\x41\"}"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("unknown.json");
+        assertThatThrownBy(() -> ConfigFileParsers.parseToml("range.toml", "key = \"\\UFFFFFFFF\""))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("range.toml");
+        assertThatThrownBy(() -> ConfigFileParsers.parseToml("open.toml", "key = \"ab\\\""))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("open.toml");
+    }
+}
@@ -0,0 +1,144 @@
+package org.confng.playground.envloading;
+
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Demonstrates case-insensitive key lookup through an index built once per source.
+ *
+ * <p>{@code APP_ENV}, {@code app_env}, {@code App_Env} and {@code app.env} all resolve to
+ * the same entry without lowercasing or trying variants on every lookup.</p>
+ */
+public class NormalizedKeyIndexTest {
+
+    @Test
+    public void testCaseAndSeparatorVariantsResolve() {
+        NormalizedKeyIndex index = NormalizedKeyIndex.of(Collections.singletonMap("APP_ENV", "uat"));
+
+        assertThat(index.get("APP_ENV")).isEqualTo("uat");
+        assertThat(index.get("app_env")).isEqualTo("uat");
+        assertThat(index.get("App_Env")).isEqualTo("uat");
+        assertThat(index.get("aPp_EnV")).isEqualTo("uat");
+        assertThat(index.get("app.env")).isEqualTo("uat");
+        assertThat(index.originalKey("app.env")).isEqualTo("APP_ENV");
+
+        assertThat(index.get("app-env")).isNull();
+        assertThat(index.get("app_env_name")).isNull();
+        assertThat(index.get("")).isNull();
+    }
+
+    @Test
+    public void testCollidingKeysResolveDeterministically() {
+        Map<String, String> forward = new LinkedHashMap<>();
+        forward.put("db.host", "lower");
+        forward.put("DB_HOST", "upper");
+        Map<String, String> backward = new LinkedHashMap<>();
+        backward.put("DB_HOST", "upper");
+        backward.put("db.host", "lower");
+
+        // "DB_HOST" sorts before "db.host", whatever the insertion order
+        assertThat(NormalizedKeyIndex.of(forward).get("Db.Host")).isEqualTo("upper");
+        assertThat(NormalizedKeyIndex.of(backward).get("Db.Host")).isEqualTo("upper");
+        assertThat(NormalizedKeyIndex.of(forward).size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLargeIndex() {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            values.put("SERVICE_" + i + "_URL", "http://service-" + i);
+        }
+        NormalizedKeyIndex index = NormalizedKeyIndex.of(values);
+
+        assertThat(index.size()).isEqualTo(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(index.get("service." + i + ".url")).isEqualTo("http://service-" + i);
+        }
+        assertThat(NormalizedKeyIndex.of(Collections.emptyMap()).get("anything")).isNull();
+    }
+
+    @Test
+    public void testLookupDoesNotAllocate() {
+        Map<String, String> values = new HashMap<>(System.getenv());
+        values.put("APP_ENV", "uat");
+        NormalizedKeyIndex index = NormalizedKeyIndex.of(values);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        int hits = 0;
+        for (int i = 0; i < 20_000; i++) { // Warm up
+            hits += index.get("App_Env") != null ? 1 : 0;
+        }
+
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 100_000; i++) {
+            hits += index.get("App_Env") != null ? 1 : 0;
+            hits += index.get("app.environment") != null ? 1 : 0;
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertThat(hits).isGreaterThanOrEqualTo(120_000);
+        // Lowercasing each key would allocate several megabytes here
+        assertThat(allocated).isLessThan(64 * 1024);
+    }
+
+    @Test
+    public void testFileSourceLookupIgnoresCase() {
+        Map<String, String> values = new HashMap<>();
+        values.put("db.host", "uat-db.example.com");
+        values.put("DB_HOST", "from-env-style-key");
+        FileConfigSource source = new FileConfigSource("Test", values, 10);
+
+        // Exact matches win over folded ones
+        assertThat(source.getIgnoreCase("db.host")).contains("uat-db.example.com");
+        assertThat(source.getIgnoreCase("DB_HOST")).contains("from-env-style-key");
+        assertThat(source.getIgnoreCase("Db_Host")).isPresent();
+        assertThat(source.get("Db_Host")).isEmpty();
+    }
+
+    @Test
+    public void testEnvironmentDetection() {
+        NormalizedKeyIndex env = NormalizedKeyIndex.of(Collections.singletonMap("environment", "prod"));
+        NormalizedKeyIndex properties = NormalizedKeyIndex.of(Collections.singletonMap("app.env", " uat "));
+        NormalizedKeyIndex empty = NormalizedKeyIndex.of(Collections.emptyMap());
+
+        // APP_ENV is checked before ENVIRONMENT, in every source
+        assertThat(ParallelConfigLoader.detectEnvironment(env, properties)).isEqualTo("uat");
+        assertThat(ParallelConfigLoader.detectEnvironment(env, empty)).isEqualTo("prod");
+        assertThat(ParallelConfigLoader.detectEnvironment(
+            NormalizedKeyIndex.of(Collections.singletonMap("Env", "dev")))).isEqualTo("dev");
+        assertThat(ParallelConfigLoader.detectEnvironment(empty)).isEqualTo(ParallelConfigLoader.DEFAULT_ENVIRONMENT);
+    }
+
+    @Test
+    public void testEnvironmentDetectionSeesSystemPropertiesAfterRefresh() {
+        NormalizedKeyIndex env = NormalizedKeyIndex.of(System.getenv());
+        for (String key : ParallelConfigLoader.ENVIRONMENT_KEYS) {
+            if (env.get(key) != null) {
+                return; // An environment variable takes precedence over the properties set here
+            }
+        }
+
+        try {
+            System.setProperty("App.Env", "first");
+            ParallelConfigLoader.refreshSystemProperties();
+            assertThat(ParallelConfigLoader.detectEnvironment()).isEqualTo("first");
+
+            // The indexed properties are a snapshot until they are refreshed
+            System.setProperty("App.Env", "second");
+            assertThat(ParallelConfigLoader.detectEnvironment()).isEqualTo("first");
+            ParallelConfigLoader.refreshSystemProperties();
+            assertThat(ParallelConfigLoader.detectEnvironment()).isEqualTo("second");
+        } finally {
+            System.clearProperty("App.Env");
+            ParallelConfigLoader.refreshSystemProperties();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.confng.playground.envloading;
+
+import org.testng.annotations.Test;
+
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Demonstrates loading global, common and environment files concurrently.
+ *
+ * <p>The loader only registers sources after every file has been read and parsed, and
+ * registers them in the same precedence order as sequential loading.</p>
+ */
+public class ParallelConfigLoaderTest {
+
+    @Test
+    public void testSourcesFollowPrecedenceOrder() {
+        List<FileConfigSource> sources = new ParallelConfigLoader().load("uat");
+
+        assertThat(sources)
+            .extracting(FileConfigSource::getName)
+            .containsExactly(
+                "TOML(global.toml)",
+                "Properties(global.properties)",
+                "TOML(global.toml)[uat]",
+                "Properties(uat.properties)");
+
+        // Every file stays below system properties (50)
+        assertThat(sources)
+            .extracting(FileConfigSource::getPriority)
+            .isSorted()
+            .doesNotHaveDuplicates()
+            .allMatch(priority -> priority < 50);
+    }
+
+    @Test
+    public void testEnvironmentValuesOverrideGlobalValues() {
+        Map<String, String> resolved = resolve(new ParallelConfigLoader().load("uat"));
+
+        // global.properties wins over global.toml, and is overridden by uat.properties
+        assertThat(resolved).containsEntry("app.name", "ConfNG Environment Auto-Loading Example");
+        assertThat(resolved).containsEntry("api.timeout", "60000");
+        assertThat(resolved).containsEntry("database.pool.maxSize", "30");
+
+        // global.toml root table and its [uat] table
+        assertThat(resolved).containsEntry("db.poolSize", "10");
+        assertThat(resolved).containsEntry("db.host", "uat-db.example.com");
+        assertThat(resolved).containsEntry("feature.newUI", "true");
+    }
+
+    @Test
+    public void testEnvironmentNameIsTrimmed() {
+        List<FileConfigSource> sources = new ParallelConfigLoader().load(" uat ");
+
+        // The [uat] table of global.toml is loaded along with uat.properties
+        assertThat(sources)
+            .extracting(FileConfigSource::getName)
+            .containsExactly(
+                "TOML(global.toml)",
+                "Properties(global.properties)",
+                "TOML(global.toml)[uat]",
+                "Properties(uat.properties)");
+        assertThat(resolve(sources)).containsEntry("db.host", "uat-db.example.com");
+    }
+
+    @Test
+    public void testJsonEnvironmentFile() {
+        List<FileConfigSource> sources = new ParallelConfigLoader().load("local");
+        Map<String, String> resolved = resolve(sources);
+
+        assertThat(sources)
+            .extracting(FileConfigSource::getName)
+            .containsExactly("TOML(global.toml)", "Properties(global.properties)", "JSON(local.json)");
+        assertThat(resolved).containsEntry("app.environment", "local");
+        assertThat(resolved).containsEntry("log.level", "DEBUG");
+
+        // global.toml has no [local] table
+        assertThat(resolved).doesNotContainKey("db.host");
+    }
+
+    @Test
+    public void testFilesAreReadConcurrently() {
+        long delayMillis = 200;
+        ClassLoader slowLoader = new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            public URL getResource(String name) {
+                try {
+                    Thread.sleep(delayMillis); // Simulates a slow file system probe
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getResource(name);
+            }
+        };
+
+        long start = System.nanoTime();
+        List<FileConfigSource> sources = new ParallelConfigLoader(slowLoader, 9).load("uat");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Nine candidate files probed one after another would take at least 9 x 200 ms
+        assertThat(sources).hasSize(4);
+        assertThat(elapsedMillis).isLessThan(9 * delayMillis);
+    }
+
+    @Test
+    public void testParserFlattensNestedJson() {
+        Map<String, String> values = ConfigFileParsers.parseJson("nested.json",
+            "{\"app\": {\"name\": \"Demo\", \"tags\": [\"a\", \"b\"]}, \"timeout\": 30, \"debug\": true, \"none\": null}");
+
+        assertThat(values)
+            .containsEntry("app.name", "Demo")
+            .containsEntry("app.tags", "[\"a\", \"b\"]")
+            .containsEntry("timeout", "30")
+            .containsEntry("debug", "true")
+            .doesNotContainKey("none");
+    }
+
+    @Test
+    public void testInvalidFileFailsTheLoad() {
+        assertThatThrownBy(() -> ConfigFileParsers.parseJson("broken.json", "{\"app\": "))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> ConfigFileParsers.parseToml("broken.toml", "[[servers]]"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static Map<String, String> resolve(List<FileConfigSource> sources) {
+        // Later sources have higher priorities and win
+        return sources.stream()
+            .flatMap(source -> source.getValues().entrySet().stream())
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (earlier, later) -> later));
+    }
+}
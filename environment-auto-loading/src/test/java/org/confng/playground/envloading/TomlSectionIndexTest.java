@@ -0,0 +1,107 @@
+package org.confng.playground.envloading;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Demonstrates indexing the tables of a TOML file and parsing only the ones in use.
+ *
+ * <p>The index records where each {@code [section]} starts; the common block and a
+ * section are parsed on first access, so a {@code global.toml} with many environments
+ * only pays for the active one.</p>
+ */
+public class TomlSectionIndexTest {
+
+    @Test
+    public void testSectionsMatchFullParse() throws IOException {
+        byte[] content = readResource("global.toml");
+        Map<String, Map<String, String>> full = ConfigFileParsers.parseToml("global.toml", new String(content, StandardCharsets.UTF_8));
+        TomlSectionIndex index = TomlSectionIndex.scan("global.toml", content);
+
+        assertThat(index.sectionNames()).containsExactly("dev", "uat", "prod");
+        assertThat(index.common()).isEqualTo(full.get(ConfigFileParsers.TOML_ROOT));
+        for (String section : index.sectionNames()) {
+            assertThat(index.section(section)).isEqualTo(full.get(section));
+        }
+    }
+
+    @Test
+    public void testOnlyRequestedSectionsAreParsed() throws IOException {
+        TomlSectionIndex index = TomlSectionIndex.scan("global.toml", readResource("global.toml"));
+        assertThat(index.parsedSections()).isEmpty();
+
+        assertThat(index.common()).containsEntry("db.poolSize", "10");
+        assertThat(index.section("uat")).containsEntry("db.host", "uat-db.example.com");
+
+        assertThat(index.parsedSections()).containsExactlyInAnyOrder(ConfigFileParsers.TOML_ROOT, "uat");
+    }
+
+    @Test
+    public void testManyEnvironments() {
+        StringBuilder toml = new StringBuilder("app.name = \"Demo\"\n");
+        for (int i = 0; i < 500; i++) {
+            toml.append("\n[env").append(i).append("]\n")
+                .append("db.host = \"db-").append(i).append(".example.com\"\n")
+                .append("db.port = ").append(5000 + i).append('\n');
+        }
+        TomlSectionIndex index = TomlSectionIndex.scan("generated.toml", toml.toString().getBytes(StandardCharsets.UTF_8));
+
+        assertThat(index.sectionNames()).hasSize(500);
+        assertThat(index.section("env250"))
+            .containsEntry("db.host", "db-250.example.com")
+            .containsEntry("db.port", "5250")
+            .hasSize(2);
+        assertThat(index.parsedSections()).containsExactly("env250");
+    }
+
+    @Test
+    public void testHeaderVariants() {
+        String toml = "name = \"root\"\n"
+            + "pattern = \"[a-z]+\"\n"
+            + "  [dev]   # indented, with a comment\n"
+            + "url = \"http://[::1]:8080\"\n"
+            + "[ uat ]\n"
+            + "url = \"https://uat.example.com\"\n"
+            + "[dev]\n"
+            + "debug = true\n";
+        TomlSectionIndex index = TomlSectionIndex.scan("generated.toml", toml.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(index.common()).containsEntry("pattern", "[a-z]+").hasSize(2);
+        // A table that appears twice is merged, as in the full parse
+        assertThat(index.section("dev"))
+            .containsEntry("url", "http://[::1]:8080")
+            .containsEntry("debug", "true");
+        assertThat(index.section("uat")).containsEntry("url", "https://uat.example.com");
+        assertThat(index.hasSection("prod")).isFalse();
+        assertThat(index.section("prod")).isEmpty();
+    }
+
+    @Test
+    public void testFileWithoutSections() {
+        TomlSectionIndex index = TomlSectionIndex.scan("inline.toml", "a = 1\nb = 2".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(index.sectionNames()).isEmpty();
+        assertThat(index.common()).containsEntry("a", "1").containsEntry("b", "2");
+    }
+
+    @Test
+    public void testUnsupportedHeaders() {
+        assertThatThrownBy(() -> TomlSectionIndex.scan("inline.toml", "[[servers]]\n".getBytes(StandardCharsets.UTF_8)))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> TomlSectionIndex.scan("inline.toml", "[dev\n".getBytes(StandardCharsets.UTF_8)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private byte[] readResource(String name) throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(name)) {
+            return in.readAllBytes();
+        }
+    }
+}
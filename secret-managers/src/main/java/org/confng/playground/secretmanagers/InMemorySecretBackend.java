@@ -0,0 +1,129 @@
+package org.confng.playground.secretmanagers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for a secret management service.
+ *
+ * <p>Secrets are kept in memory. Every call, single or batch, is counted and can be slowed down by a fixed
+ * latency, so tests can assert how many round trips a source makes and what happens while
+ * a request is in flight. The backend can also be switched to fail every call.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+public class InMemorySecretBackend implements SecretBackend {
+
+    private final Map<String, String> secrets = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile Duration latency = Duration.ZERO;
+    private volatile boolean unavailable;
+
+    @Override
+    public String getName() {
+        return "in-memory";
+    }
+
+    @Override
+    public Optional<String> getSecret(String path) {
+        call();
+        return Optional.ofNullable(secrets.get(path));
+    }
+
+    /**
+     * Answers the whole batch with a single counted call, like a list-by-prefix request.
+     */
+    @Override
+    public Map<String, String> getSecrets(String prefix, Collection<String> paths) {
+        call();
+        Map<String, String> found = new HashMap<>();
+        for (String path : paths) {
+            String value = secrets.get(path);
+            if (value != null) {
+                found.put(path, value);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Stores or replaces a secret.
+     *
+     * @param path the secret path
+     * @param value the secret value
+     * @return this backend
+     */
+    public InMemorySecretBackend put(String path, String value) {
+        secrets.put(path, value);
+        return this;
+    }
+
+    /**
+     * Deletes a secret.
+     *
+     * @param path the secret path
+     */
+    public void remove(String path) {
+        secrets.remove(path);
+    }
+
+    /**
+     * Sets the time every call takes.
+     *
+     * @param latency the latency, zero for none
+     */
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Makes every following call fail, as if the service could not be reached.
+     *
+     * @param unavailable true to fail calls
+     */
+    public void setUnavailable(boolean unavailable) {
+        this.unavailable = unavailable;
+    }
+
+    /**
+     * Gets the number of calls made to this backend.
+     *
+     * @return the call count
+     */
+    public int getCallCount() {
+        return calls.get();
+    }
+
+    /**
+     * Resets the call count to zero.
+     */
+    public void resetCallCount() {
+        calls.set(0);
+    }
+
+    /**
+     * Counts a call and simulates its latency and availability.
+     */
+    protected void call() {
+        calls.incrementAndGet();
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while calling the secret backend", e);
+            }
+        }
+        if (unavailable) {
+            throw new IllegalStateException("Secret backend " + getName() + " is unavailable");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.confng.playground.secretmanagers;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Client of a secret management service, e.g. a cloud secrets manager or a vault.
+ *
+ * <p>Implementations only talk to the service; caching, refreshing and coalescing of
+ * concurrent requests are done by {@link SecretManagerSource}. Implementations must be
+ * safe to call from several threads.</p>
+ *
+ * <p>Services that can return several secrets in one request (a batch get, or listing a
+ * path) should override {@link #getSecrets(String, Collection)}; the default fetches the
+ * secrets one by one.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+public interface SecretBackend {
+
+    /**
+     * Gets the name of the backend, used in the source name.
+     *
+     * @return the backend name, e.g. "vault"
+     */
+    String getName();
+
+    /**
+     * Fetches one secret.
+     *
+     * @param path the secret path, e.g. "database/password"
+     * @return the secret value, or empty if the secret does not exist
+     * @throws RuntimeException if the service cannot be reached
+     */
+    Optional<String> getSecret(String path);
+
+    /**
+     * Fetches several secrets that share a path prefix, in as few requests as the service
+     * allows.
+     *
+     * @param prefix the common prefix of the paths, e.g. "database/"
+     * @param paths the full secret paths, all starting with the prefix
+     * @return the secrets that exist, by path; missing secrets are left out
+     * @throws RuntimeException if the service cannot be reached
+     */
+    default Map<String, String> getSecrets(String prefix, Collection<String> paths) {
+        Map<String, String> secrets = new HashMap<>();
+        for (String path : paths) {
+            getSecret(path).ifPresent(value -> secrets.put(path, value));
+        }
+        return secrets;
+    }
+}
@@ -0,0 +1,504 @@
+package org.confng.playground.secretmanagers;
+
+import org.confng.api.ConfNGKey;
+import org.confng.sources.ConfigSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Configuration source that reads secrets from a {@link SecretBackend} and caches them.
+ *
+ * <p>Every secret is cached for its time to live: the default TTL, or a per-key TTL for
+ * secrets that rotate more often. Missing secrets are cached too, so a key that falls
+ * through to its default does not cost a round trip per lookup. When
+ * {@value #REFRESH_AHEAD_PERCENT}% of a TTL has passed, the secret is fetched again on a
+ * background thread, so lookups keep hitting the cache while the secret stays fresh. A
+ * failed background refresh keeps the cached value until it expires and is retried
+ * before that, at most about three times per refresh window, with some jitter so secrets
+ * that failed together do not all retry at the same moment.</p>
+ *
+ * <p>Concurrent requests for the same secret share one backend call: the first caller
+ * fetches, the others wait for its result. This also applies to a background refresh
+ * that is running when a lookup misses.</p>
+ *
+ * <p>{@link #prefetch(Collection)} groups secret paths by prefix ({@code database/},
+ * {@code oauth/}, ...) and loads each group with one
+ * {@link SecretBackend#getSecrets(String, Collection) batch call}; secrets fetched
+ * together are refreshed together.</p>
+ *
+ * <p>Sensitive secrets (by default all of them) are cached as off-heap
+ * {@link SensitiveValue}s that are wiped when they are replaced, invalidated or the source
+ * is closed. {@link #getChars(String)} decodes into an array the caller can clear, and
+ * {@link #getForDisplay(String)} answers without decoding at all. ConfNG lookups through
+ * {@link #get(String)} still receive a short-lived string.</p>
+ *
+ * <p>If the backend cannot be reached on a cache miss, the lookup returns empty and ConfNG
+ * falls back to lower-priority sources or the default value; the error is available from
+ * {@link #getLastFailure()}.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+public class SecretManagerSource implements ConfigSource, AutoCloseable {
+
+    /** Priority above every other source, so secrets override other configuration. */
+    public static final int DEFAULT_PRIORITY = 100;
+
+    /** Share of the TTL after which a secret is refreshed in the background. */
+    public static final int REFRESH_AHEAD_PERCENT = 80;
+
+    private final SecretBackend backend;
+    private final Duration defaultTtl;
+    private final Map<String, Duration> ttls;
+    private final Predicate<String> sensitive;
+    private final ConcurrentMap<String, CachedSecret> cache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<CachedSecret>> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher;
+    private volatile RuntimeException lastFailure;
+
+    /**
+     * Creates a new SecretManagerSource that caches every secret for the same time.
+     *
+     * @param backend the secret backend
+     * @param ttl the time to live of cached secrets
+     */
+    public SecretManagerSource(SecretBackend backend, Duration ttl) {
+        this(backend, ttl, Collections.emptyMap());
+    }
+
+    /**
+     * Creates a new SecretManagerSource.
+     *
+     * @param backend the secret backend
+     * @param defaultTtl the time to live of cached secrets without their own TTL
+     * @param ttls the time to live per secret path, e.g. shorter for rotating credentials
+     */
+    public SecretManagerSource(SecretBackend backend, Duration defaultTtl, Map<String, Duration> ttls) {
+        this(backend, defaultTtl, ttls, key -> true);
+    }
+
+    /**
+     * Creates a new SecretManagerSource that keeps only some secrets off-heap.
+     *
+     * @param backend the secret backend
+     * @param defaultTtl the time to live of cached secrets without their own TTL
+     * @param ttls the time to live per secret path, e.g. shorter for rotating credentials
+     * @param sensitive tells which secret paths are kept off-heap, see {@link #sensitiveKeys(Class)}
+     */
+    public SecretManagerSource(SecretBackend backend, Duration defaultTtl, Map<String, Duration> ttls,
+                               Predicate<String> sensitive) {
+        this.backend = Objects.requireNonNull(backend, "backend");
+        this.defaultTtl = requirePositive(defaultTtl);
+        this.sensitive = Objects.requireNonNull(sensitive, "sensitive");
+        this.ttls = new HashMap<>(ttls);
+        this.ttls.values().forEach(SecretManagerSource::requirePositive);
+        this.refresher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "secret-refresh-" + backend.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public String getName() {
+        return "SecretManager(" + backend.getName() + ")";
+    }
+
+    /**
+     * Gets a secret as a string. For sensitive secrets this decodes a new string on every
+     * call, as ConfNG needs one; prefer {@link #getChars(String)} where possible.
+     */
+    @Override
+    public Optional<String> get(String key) {
+        while (true) {
+            CachedSecret cached = lookup(key);
+            if (cached == null) {
+                return Optional.empty();
+            }
+            try {
+                return cached.reveal();
+            } catch (IllegalStateException e) {
+                // Replaced and wiped by a concurrent refresh; read the new entry
+            }
+        }
+    }
+
+    /**
+     * Gets a secret as a new character array, which the caller should clear with
+     * {@code Arrays.fill(chars, '\0')} when done.
+     *
+     * @param key the secret path
+     * @return the secret's characters, or empty if the secret does not exist
+     */
+    public Optional<char[]> getChars(String key) {
+        while (true) {
+            CachedSecret cached = lookup(key);
+            if (cached == null) {
+                return Optional.empty();
+            }
+            try {
+                return cached.toCharArray();
+            } catch (IllegalStateException e) {
+                // Replaced and wiped by a concurrent refresh; read the new entry
+            }
+        }
+    }
+
+    /**
+     * Gets the display form of a secret without decoding it: {@value SensitiveValue#MASKED}
+     * for sensitive secrets, the value itself for the others.
+     *
+     * @param key the secret path
+     * @return the display form, or null if the secret does not exist
+     */
+    public String getForDisplay(String key) {
+        CachedSecret cached = lookup(key);
+        return cached == null ? null : cached.toDisplayString();
+    }
+
+    /**
+     * Treats the keys of a configuration enum that are not marked sensitive as plain
+     * values; every other secret path is kept off-heap.
+     *
+     * @param keys the configuration enum, e.g. {@code SecretConfig.class}
+     * @param <E> the enum type
+     * @return a predicate for {@link #SecretManagerSource(SecretBackend, Duration, Map, Predicate)}
+     */
+    public static <E extends Enum<E> & ConfNGKey> Predicate<String> sensitiveKeys(Class<E> keys) {
+        Set<String> plain = new HashSet<>();
+        for (E key : keys.getEnumConstants()) {
+            if (!key.isSensitive()) {
+                plain.add(key.getKey());
+            }
+        }
+        return key -> !plain.contains(key);
+    }
+
+    @Override
+    public int getPriority() {
+        return DEFAULT_PRIORITY;
+    }
+
+    /**
+     * Loads the secrets of a configuration enum ahead of their first lookup.
+     *
+     * @param keys the configuration enum, e.g. {@code SecretConfig.class}
+     * @param <E> the enum type
+     * @throws IllegalStateException if the backend cannot be reached
+     * @see #prefetch(Collection)
+     */
+    public <E extends Enum<E> & ConfNGKey> void prefetch(Class<E> keys) {
+        List<String> paths = new ArrayList<>();
+        for (E key : keys.getEnumConstants()) {
+            paths.add(key.getKey());
+        }
+        prefetch(paths);
+    }
+
+    /**
+     * Loads secrets ahead of their first lookup with one backend call per path prefix: the
+     * eight {@link SecretConfig} secrets cost four calls ({@code database/},
+     * {@code api-keys/}, {@code oauth/} and {@code cloud/}) instead of eight. Secrets that
+     * are already cached and not due for a refresh are skipped. Prefetched secrets are
+     * refreshed in the background per prefix as well.
+     *
+     * @param keys the secret paths
+     * @throws IllegalStateException if the backend cannot be reached for one of the prefixes;
+     *         the other prefixes are still loaded
+     */
+    public void prefetch(Collection<String> keys) {
+        Map<String, Set<String>> byPrefix = new LinkedHashMap<>();
+        for (String key : keys) {
+            byPrefix.computeIfAbsent(prefixOf(key), prefix -> new LinkedHashSet<>()).add(key);
+        }
+
+        RuntimeException failure = null;
+        for (Map.Entry<String, Set<String>> group : byPrefix.entrySet()) {
+            for (CompletableFuture<CachedSecret> result : fetch(group.getKey(), group.getValue()).values()) {
+                try {
+                    result.join();
+                } catch (CompletionException e) {
+                    failure = failure == null ? new IllegalStateException("Failed to prefetch secrets", e.getCause()) : failure;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Removes a secret from the cache, e.g. after it was rotated, so the next lookup
+     * fetches it again.
+     *
+     * @param key the secret path
+     */
+    public void invalidate(String key) {
+        CachedSecret removed = cache.remove(key);
+        if (removed != null) {
+            removed.wipe();
+        }
+    }
+
+    /**
+     * Gets the error of the most recent failed backend call.
+     *
+     * @return the failure, or empty if no call failed since the last successful one
+     */
+    public Optional<RuntimeException> getLastFailure() {
+        return Optional.ofNullable(lastFailure);
+    }
+
+    /**
+     * Stops background refreshes and wipes all cached secrets. Later lookups fetch again.
+     */
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+        for (String key : cache.keySet()) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * Gets the cached entry of a secret, fetching it on a miss.
+     *
+     * @return the entry, or null if the backend failed
+     */
+    private CachedSecret lookup(String key) {
+        CachedSecret cached = cache.get(key);
+        if (cached != null && !cached.isExpired(System.nanoTime())) {
+            return cached;
+        }
+        try {
+            return fetch(prefixOf(key), Collections.singletonList(key)).get(key).join();
+        } catch (CompletionException e) {
+            return null; // Recorded in lastFailure; let ConfNG fall back
+        }
+    }
+
+    /**
+     * Fetches secrets that share a path prefix. Keys another thread is already fetching
+     * are joined; the remaining keys are fetched with one backend call.
+     *
+     * @return one future per key
+     */
+    private Map<String, CompletableFuture<CachedSecret>> fetch(String prefix, Collection<String> keys) {
+        Map<String, CompletableFuture<CachedSecret>> results = new LinkedHashMap<>();
+        Map<String, CompletableFuture<CachedSecret>> owned = new LinkedHashMap<>();
+        long now = System.nanoTime();
+        for (String key : keys) {
+            CompletableFuture<CachedSecret> created = new CompletableFuture<>();
+            CompletableFuture<CachedSecret> running = inFlight.putIfAbsent(key, created);
+            if (running != null) {
+                results.put(key, running);
+                continue;
+            }
+            results.put(key, created);
+
+            // Another thread may have stored the secret between our cache miss and putIfAbsent
+            CachedSecret cached = cache.get(key);
+            if (cached != null && !cached.isRefreshDue(now)) {
+                created.complete(cached);
+                inFlight.remove(key, created);
+            } else {
+                owned.put(key, created);
+            }
+        }
+        if (owned.isEmpty()) {
+            return results;
+        }
+
+        try {
+            Map<String, String> found;
+            if (owned.size() == 1) {
+                String key = owned.keySet().iterator().next();
+                found = backend.getSecret(key)
+                    .map(value -> Collections.singletonMap(key, value))
+                    .orElse(Collections.emptyMap());
+            } else {
+                found = backend.getSecrets(prefix, new ArrayList<>(owned.keySet()));
+            }
+            lastFailure = null;
+            Map<String, CachedSecret> stored = store(prefix, owned.keySet(), found);
+            owned.forEach((key, future) -> future.complete(stored.get(key)));
+        } catch (RuntimeException e) {
+            lastFailure = e;
+            owned.values().forEach(future -> future.completeExceptionally(e));
+        } finally {
+            owned.forEach(inFlight::remove);
+        }
+        return results;
+    }
+
+    /**
+     * Caches the result of one backend call, wiping the entries it replaces, and schedules
+     * one background refresh per distinct TTL, so secrets fetched together are also
+     * refreshed together.
+     *
+     * @return the new entries by key
+     */
+    private Map<String, CachedSecret> store(String prefix, Collection<String> keys, Map<String, String> found) {
+        long now = System.nanoTime();
+        Map<String, CachedSecret> stored = new HashMap<>();
+        Map<Long, Map<String, CachedSecret>> byTtl = new HashMap<>();
+        for (String key : keys) {
+            long ttlNanos = ttls.getOrDefault(key, defaultTtl).toNanos();
+            String value = found.get(key);
+            CachedSecret secret = new CachedSecret(
+                value == null || !sensitive.test(key) ? value : null,
+                value != null && sensitive.test(key) ? SensitiveValue.of(value) : null,
+                now + ttlNanos, now + ttlNanos / 100 * REFRESH_AHEAD_PERCENT);
+            CachedSecret previous = cache.put(key, secret);
+            if (previous != null) {
+                previous.wipe();
+            }
+            stored.put(key, secret);
+            byTtl.computeIfAbsent(ttlNanos, ttl -> new LinkedHashMap<>()).put(key, secret);
+        }
+        for (Map<String, CachedSecret> group : byTtl.values()) {
+            scheduleRefresh(prefix, group, group.values().iterator().next().refreshAt - now);
+        }
+        return stored;
+    }
+
+    private void scheduleRefresh(String prefix, Map<String, CachedSecret> group, long delayNanos) {
+        if (!refresher.isShutdown()) {
+            try {
+                refresher.schedule(() -> refreshInBackground(prefix, group), delayNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // Closed concurrently; the secrets are served until they expire
+            }
+        }
+    }
+
+    /**
+     * Refreshes the secrets of a group that were not replaced or invalidated since this
+     * refresh was scheduled. On failure the cached values are kept and the refresh is
+     * retried halfway to their expiry, but never sooner than a quarter of the refresh
+     * window, plus up to a quarter more as jitter. A retry that would land after the
+     * expiry is not scheduled; the next lookup then fetches the secret itself.
+     */
+    private void refreshInBackground(String prefix, Map<String, CachedSecret> scheduled) {
+        Map<String, CachedSecret> current = new LinkedHashMap<>();
+        scheduled.forEach((key, secret) -> {
+            if (cache.get(key) == secret) {
+                current.put(key, secret);
+            }
+        });
+        if (current.isEmpty()) {
+            return;
+        }
+
+        Map<String, CompletableFuture<CachedSecret>> results = fetch(prefix, current.keySet());
+        Map<String, CachedSecret> failed = new LinkedHashMap<>();
+        results.forEach((key, result) -> {
+            try {
+                result.join();
+            } catch (CompletionException e) {
+                if (cache.get(key) == current.get(key)) {
+                    failed.put(key, current.get(key));
+                }
+            }
+        });
+
+        if (!failed.isEmpty()) {
+            CachedSecret secret = failed.values().iterator().next();
+            long remaining = secret.expiresAt - System.nanoTime();
+            long delay = Math.max(remaining / 2, (secret.expiresAt - secret.refreshAt) / 4);
+            delay += ThreadLocalRandom.current().nextLong(delay / 4 + 1);
+            if (delay < remaining) {
+                scheduleRefresh(prefix, failed, delay);
+            }
+        }
+    }
+
+    /**
+     * Gets the path prefix used to batch a secret, e.g. "database/" for "database/password".
+     */
+    static String prefixOf(String key) {
+        return key.substring(0, key.lastIndexOf('/') + 1);
+    }
+
+    private static Duration requirePositive(Duration ttl) {
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL must be positive: " + ttl);
+        }
+        return ttl;
+    }
+
+    /**
+     * A cached secret, or a cached absence, with the times it is refreshed and expires.
+     * Sensitive secrets are held as a {@link SensitiveValue}, the others as a string.
+     */
+    private static final class CachedSecret {
+
+        private final String plain;
+        private final SensitiveValue secret;
+        private final long expiresAt;
+        private final long refreshAt;
+
+        private CachedSecret(String plain, SensitiveValue secret, long expiresAt, long refreshAt) {
+            this.plain = plain;
+            this.secret = secret;
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+
+        private boolean isRefreshDue(long now) {
+            return now - refreshAt >= 0;
+        }
+
+        /**
+         * @throws IllegalStateException if the sensitive value was wiped
+         */
+        private Optional<String> reveal() {
+            return secret != null ? Optional.of(secret.reveal()) : Optional.ofNullable(plain);
+        }
+
+        /**
+         * @throws IllegalStateException if the sensitive value was wiped
+         */
+        private Optional<char[]> toCharArray() {
+            return secret != null ? Optional.of(secret.toCharArray()) : Optional.ofNullable(plain).map(String::toCharArray);
+        }
+
+        private String toDisplayString() {
+            return secret != null ? secret.toDisplayString() : plain;
+        }
+
+        private void wipe() {
+            if (secret != null) {
+                secret.wipe();
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.confng.playground.secretmanagers;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * A secret kept outside the Java heap that can be wiped.
+ *
+ * <p>The characters are copied into a direct {@link ByteBuffer} as UTF-16, so they do not
+ * appear in heap dumps and are not moved around by the garbage collector.
+ * {@link #toCharArray()} hands out a fresh copy that the caller should clear with
+ * {@code Arrays.fill(chars, '\0')} when done; {@link #wipe()} overwrites the off-heap
+ * copy with zeros. {@link #toDisplayString()} and {@link #length()} never read the
+ * secret.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+public final class SensitiveValue implements AutoCloseable {
+
+    /** Display form of every sensitive value, the same as {@code ConfNG.getForDisplay}. */
+    public static final String MASKED = "***MASKED***";
+
+    private final ByteBuffer buffer;
+    private final int length;
+    private boolean wiped;
+
+    private SensitiveValue(ByteBuffer buffer, int length) {
+        this.buffer = buffer;
+        this.length = length;
+    }
+
+    /**
+     * Copies characters into a new off-heap value.
+     *
+     * @param chars the secret; not modified, so the caller can clear it afterwards
+     * @return the new value
+     */
+    public static SensitiveValue of(char[] chars) {
+        return of(CharBuffer.wrap(chars));
+    }
+
+    /**
+     * Copies characters into a new off-heap value.
+     *
+     * @param chars the secret
+     * @return the new value
+     */
+    public static SensitiveValue of(CharSequence chars) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(1, chars.length() * Character.BYTES));
+        CharBuffer view = buffer.asCharBuffer();
+        for (int i = 0; i < chars.length(); i++) {
+            view.put(chars.charAt(i));
+        }
+        return new SensitiveValue(buffer, chars.length());
+    }
+
+    /**
+     * Copies the secret into a new array that the caller owns and should clear.
+     *
+     * @return the secret's characters
+     * @throws IllegalStateException if the value was wiped
+     */
+    public synchronized char[] toCharArray() {
+        checkNotWiped();
+        char[] chars = new char[length];
+        buffer.asCharBuffer().get(chars);
+        return chars;
+    }
+
+    /**
+     * Copies the secret into a new string. Strings cannot be cleared, so prefer
+     * {@link #toCharArray()} where the caller accepts a {@code char[]}.
+     *
+     * @return the secret
+     * @throws IllegalStateException if the value was wiped
+     */
+    public synchronized String reveal() {
+        checkNotWiped();
+        return buffer.asCharBuffer().limit(length).toString();
+    }
+
+    /**
+     * Gets the number of characters of the secret without reading it.
+     *
+     * @return the length
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Gets the masked display form without reading the secret.
+     *
+     * @return {@value #MASKED}
+     */
+    public String toDisplayString() {
+        return MASKED;
+    }
+
+    /**
+     * Checks whether {@link #wipe()} was called.
+     *
+     * @return true if the secret is gone
+     */
+    public synchronized boolean isWiped() {
+        return wiped;
+    }
+
+    /**
+     * Overwrites the off-heap copy with zeros. Copies already handed out are not affected.
+     */
+    public synchronized void wipe() {
+        if (!wiped) {
+            for (int i = 0; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+            wiped = true;
+        }
+    }
+
+    /**
+     * Same as {@link #wipe()}.
+     */
+    @Override
+    public void close() {
+        wipe();
+    }
+
+    /**
+     * Returns the masked form, so a value that ends up in a log message does not leak.
+     */
+    @Override
+    public String toString() {
+        return MASKED;
+    }
+
+    private void checkNotWiped() {
+        if (wiped) {
+            throw new IllegalStateException("Sensitive value was wiped");
+        }
+    }
+}
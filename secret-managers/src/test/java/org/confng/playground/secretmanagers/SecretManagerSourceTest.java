@@ -0,0 +1,290 @@
+package org.confng.playground.secretmanagers;
+
+/**
+ * Test class for the caching secret manager source backed by the in-memory backend.
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+
+import org.confng.ConfNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.*;
+
+public class SecretManagerSourceTest {
+
+    private InMemorySecretBackend backend;
+    private SecretManagerSource source;
+
+    @BeforeMethod
+    public void createBackend() {
+        backend = new InMemorySecretBackend()
+            .put("database/password", "s3cr3t")
+            .put("api-keys/service1", "service1-key");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void closeSource() {
+        if (source != null) {
+            source.close();
+        }
+        ConfNG.clearSourcesAndUseDefaults();
+    }
+
+    @Test
+    public void testSecretsAreCachedForTheirTtl() {
+        source = new SecretManagerSource(backend, Duration.ofMinutes(5));
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(source.get("database/password").orElse(null), "s3cr3t");
+        }
+        assertEquals(backend.getCallCount(), 1);
+    }
+
+    @Test
+    public void testMissingSecretsAreCachedToo() {
+        source = new SecretManagerSource(backend, Duration.ofMinutes(5));
+        ConfNG.addSource(source);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(ConfNG.get(SecretConfig.APP_VERSION), "1.0.0");
+        }
+        assertEquals(backend.getCallCount(), 1);
+    }
+
+    @Test
+    public void testConcurrentFirstReadsShareOneBackendCall() throws Exception {
+        source = new SecretManagerSource(backend, Duration.ofMinutes(5));
+        backend.setLatency(Duration.ofMillis(200));
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Optional<String>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Callable<Optional<String>> read = () -> {
+                    start.await();
+                    return source.get("database/password");
+                };
+                results.add(executor.submit(read));
+            }
+            start.countDown();
+
+            for (Future<Optional<String>> result : results) {
+                assertEquals(result.get().orElse(null), "s3cr3t");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(backend.getCallCount(), 1);
+    }
+
+    @Test
+    public void testSecretsAreRefreshedInTheBackgroundBeforeTheyExpire() throws Exception {
+        source = new SecretManagerSource(backend, Duration.ofMinutes(5),
+            Collections.singletonMap("database/password", Duration.ofMillis(300)));
+        assertEquals(source.get("database/password").orElse(null), "s3cr3t");
+        assertEquals(source.get("api-keys/service1").orElse(null), "service1-key");
+
+        backend.put("database/password", "rotated");
+        backend.put("api-keys/service1", "rotated");
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!"rotated".equals(source.get("database/password").orElse(null)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        int calls = backend.getCallCount();
+        assertEquals(source.get("database/password").orElse(null), "rotated");
+        assertEquals(backend.getCallCount(), calls, "The refreshed secret must be served from the cache");
+        assertEquals(source.get("api-keys/service1").orElse(null), "service1-key"); // Longer TTL, not refreshed yet
+    }
+
+    @Test
+    public void testFailedRefreshKeepsServingTheCachedSecret() throws Exception {
+        source = new SecretManagerSource(backend, Duration.ofMillis(500));
+        assertEquals(source.get("database/password").orElse(null), "s3cr3t");
+        backend.setUnavailable(true);
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!source.getLastFailure().isPresent() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(source.getLastFailure().isPresent());
+        assertEquals(source.get("database/password").orElse(null), "s3cr3t");
+    }
+
+    @Test
+    public void testFailedRefreshIsRetriedOnlyAFewTimes() throws Exception {
+        source = new SecretManagerSource(backend, Duration.ofMillis(500));
+        assertEquals(source.get("database/password").orElse(null), "s3cr3t");
+        backend.setUnavailable(true);
+
+        // Refresh at 400 ms, then retries at least 25 ms apart until the expiry at 500 ms
+        Thread.sleep(700);
+
+        int backgroundCalls = backend.getCallCount() - 1;
+        assertTrue(backgroundCalls >= 1 && backgroundCalls <= 4,
+            "Expected the refresh and at most three retries, got " + backgroundCalls + " calls");
+    }
+
+    @Test
+    public void testUnavailableBackendFallsBackToOtherSources() {
+        source = new SecretManagerSource(backend, Duration.ofMinutes(5));
+        ConfNG.addSource(source);
+        backend.setUnavailable(true);
+
+        assertEquals(ConfNG.get(SecretConfig.FEATURE_FLAGS), "{}");
+        assertTrue(source.getLastFailure().isPresent());
+
+        backend.setUnavailable(false);
+        assertEquals(ConfNG.get(SecretConfig.DB_PASSWORD), "s3cr3t"); // Failures are not cached
+        assertFalse(source.getLastFailure().isPresent());
+        assertEquals(ConfNG.getForDisplay(SecretConfig.DB_PASSWORD), "***MASKED***");
+    }
+
+    @Test
+    public void testInvalidateFetchesAgain() {
+        source = new SecretManagerSource(backend, Duration.ofMinutes(5));
+        assertEquals(source.get("database/password").orElse(null), "s3cr3t");
+        backend.put("database/password", "rotated");
+
+        source.invalidate("database/password");
+
+        assertEquals(source.get("database/password").orElse(null), "rotated");
+        assertEquals(backend.getCallCount(), 2);
+    }
+
+    @Test
+    public void testPrefetchIssuesOneCallPerPrefix() {
+        SecretConfig[] secrets = sensitiveKeys();
+        for (SecretConfig secret : secrets) {
+            backend.put(secret.getKey(), secret.name().toLowerCase());
+        }
+        source = new SecretManagerSource(backend, Duration.ofMinutes(5));
+        ConfNG.addSource(source);
+
+        List<String> paths = new ArrayList<>();
+        for (SecretConfig secret : secrets) {
+            paths.add(secret.getKey());
+        }
+        source.prefetch(paths);
+        assertEquals(backend.getCallCount(), 4); // database/, api-keys/, oauth/, cloud/
+
+        for (SecretConfig secret : secrets) {
+            assertEquals(ConfNG.get(secret), secret.name().toLowerCase());
+        }
+        assertEquals(backend.getCallCount(), 4);
+    }
+
+    @Test
+    public void testLazyLookupsCostOneCallPerKey() {
+        source = new SecretManagerSource(backend, Duration.ofMinutes(5));
+        for (SecretConfig secret : sensitiveKeys()) {
+            source.get(secret.getKey());
+        }
+        assertEquals(backend.getCallCount(), 8);
+    }
+
+    @Test
+    public void testPrefetchEnumSkipsCachedSecrets() {
+        source = new SecretManagerSource(backend, Duration.ofMinutes(5));
+        source.get(SecretConfig.APP_VERSION.getKey());
+        source.get(SecretConfig.FEATURE_FLAGS.getKey());
+        backend.resetCallCount();
+
+        source.prefetch(SecretConfig.class);
+
+        assertEquals(backend.getCallCount(), 4); // app/ is already cached
+        assertEquals(source.get("database/password").orElse(null), "s3cr3t");
+        assertEquals(backend.getCallCount(), 4);
+    }
+
+    @Test
+    public void testPrefetchedSecretsAreRefreshedAsOneBatch() throws Exception {
+        backend.put("database/connection-string", "postgresql://example-db:5432/app");
+        source = new SecretManagerSource(backend, Duration.ofMillis(300));
+        source.prefetch(Arrays.asList("database/password", "database/connection-string"));
+        assertEquals(backend.getCallCount(), 1);
+
+        backend.put("database/password", "rotated");
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!"rotated".equals(source.get("database/password").orElse(null)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(source.get("database/password").orElse(null), "rotated");
+        assertEquals(backend.getCallCount(), 2);
+    }
+
+    @Test
+    public void testFailedPrefetchLeavesLookupsLazy() {
+        source = new SecretManagerSource(backend, Duration.ofMinutes(5));
+        backend.setUnavailable(true);
+
+        assertThrows(IllegalStateException.class, () -> source.prefetch(SecretConfig.class));
+
+        backend.setUnavailable(false);
+        assertEquals(source.get("database/password").orElse(null), "s3cr3t");
+    }
+
+    @Test
+    public void testSensitiveSecretsAreDisplayedWithoutDecoding() {
+        backend.put("app/version", "2.1.0");
+        source = new SecretManagerSource(backend, Duration.ofMinutes(5), Collections.emptyMap(),
+            SecretManagerSource.sensitiveKeys(SecretConfig.class));
+
+        assertEquals(source.getForDisplay("database/password"), SensitiveValue.MASKED);
+        assertEquals(source.getForDisplay("app/version"), "2.1.0");
+        assertNull(source.getForDisplay("oauth/client-secret"));
+        assertEquals(source.get("database/password").orElse(null), "s3cr3t");
+    }
+
+    @Test
+    public void testGetCharsReturnsACopyTheCallerCanClear() {
+        source = new SecretManagerSource(backend, Duration.ofMinutes(5));
+
+        char[] password = source.getChars("database/password").orElseThrow(AssertionError::new);
+        assertEquals(new String(password), "s3cr3t");
+        Arrays.fill(password, '\0');
+
+        assertEquals(new String(source.getChars("database/password").orElseThrow(AssertionError::new)), "s3cr3t");
+        assertFalse(source.getChars("oauth/client-secret").isPresent());
+        assertEquals(backend.getCallCount(), 2);
+    }
+
+    @Test
+    public void testRotationAndCloseKeepLookupsWorking() {
+        source = new SecretManagerSource(backend, Duration.ofMinutes(5));
+        assertEquals(source.get("database/password").orElse(null), "s3cr3t");
+
+        backend.put("database/password", "rotated");
+        source.invalidate("database/password");
+        assertEquals(source.get("database/password").orElse(null), "rotated");
+
+        source.close();
+        assertEquals(source.get("database/password").orElse(null), "rotated"); // Wiped, so fetched again
+        assertEquals(backend.getCallCount(), 3);
+    }
+
+    private static SecretConfig[] sensitiveKeys() {
+        return Arrays.stream(SecretConfig.values()).filter(SecretConfig::isSensitive).toArray(SecretConfig[]::new);
+    }
+}
@@ -0,0 +1,80 @@
+package org.confng.playground.secretmanagers;
+
+/**
+ * Test class for off-heap, wipeable sensitive values.
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.testng.Assert.*;
+
+public class SensitiveValueTest {
+
+    @Test
+    public void testValueIsKeptOffHeap() throws Exception {
+        SensitiveValue value = SensitiveValue.of("example-jwt-key");
+
+        assertTrue(buffer(value).isDirect());
+        assertEquals(value.reveal(), "example-jwt-key");
+        assertEquals(value.length(), 15);
+    }
+
+    @Test
+    public void testCharsAreCopiedInAndOut() {
+        char[] input = "s3cr3t".toCharArray();
+        SensitiveValue value = SensitiveValue.of(input);
+        Arrays.fill(input, '\0');
+
+        char[] first = value.toCharArray();
+        assertEquals(new String(first), "s3cr3t");
+        Arrays.fill(first, '\0');
+        assertEquals(new String(value.toCharArray()), "s3cr3t");
+    }
+
+    @Test
+    public void testDisplayNeverRevealsTheSecret() {
+        SensitiveValue value = SensitiveValue.of("s3cr3t");
+
+        assertEquals(value.toDisplayString(), SensitiveValue.MASKED);
+        assertEquals(value.toString(), SensitiveValue.MASKED);
+        assertEquals("password=" + value, "password=***MASKED***");
+    }
+
+    @Test
+    public void testWipeZeroesTheBuffer() throws Exception {
+        SensitiveValue value = SensitiveValue.of("s3cr3t");
+        value.close();
+
+        ByteBuffer buffer = buffer(value);
+        for (int i = 0; i < buffer.capacity(); i++) {
+            assertEquals(buffer.get(i), 0);
+        }
+        assertTrue(value.isWiped());
+        assertThrows(IllegalStateException.class, value::toCharArray);
+        assertThrows(IllegalStateException.class, value::reveal);
+        assertEquals(value.toDisplayString(), SensitiveValue.MASKED);
+    }
+
+    @Test
+    public void testEmptyValue() {
+        SensitiveValue value = SensitiveValue.of("");
+
+        assertEquals(value.toCharArray().length, 0);
+        assertEquals(value.reveal(), "");
+    }
+
+    private static ByteBuffer buffer(SensitiveValue value) throws Exception {
+        Field field = SensitiveValue.class.getDeclaredField("buffer");
+        field.setAccessible(true);
+        return (ByteBuffer) field.get(value);
+    }
+}
@@ -0,0 +1,175 @@
+package org.confng.playground.systemproperties;
+
+import org.confng.sources.ConfigSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * System properties source that serves reads from an immutable snapshot.
+ *
+ * <p>{@link java.util.Properties} is a {@code Hashtable}, and every write to it holds the
+ * table's lock. Reading through {@code System.getProperty} on every lookup ties test
+ * threads to that object. This source copies the properties once into an immutable map
+ * and answers every lookup from it without locking. The copy is only taken again when
+ * a change signal fires:</p>
+ * <ul>
+ *   <li>{@link #refresh()} is called explicitly, or</li>
+ *   <li>a property is changed through {@link #setProperty(String, String)} or
+ *       {@link #clearProperty(String)}.</li>
+ * </ul>
+ *
+ * <p>A plain {@code System.setProperty} call is not signalled and is only seen after
+ * {@link #refresh()}. The setters bump one global modification counter. A lookup compares the counter with
+ * the version of its snapshot, which is a single volatile read; only the first lookup
+ * after a change copies the properties again.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+public final class SystemPropertiesSnapshotSource implements ConfigSource {
+
+    /** Same priority as ConfNG's built-in system properties source. */
+    public static final int DEFAULT_PRIORITY = 50;
+
+    private static final AtomicLong MODIFICATIONS = new AtomicLong();
+
+    private final int priority;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Creates a new SystemPropertiesSnapshotSource with the default priority.
+     */
+    public SystemPropertiesSnapshotSource() {
+        this(DEFAULT_PRIORITY);
+    }
+
+    /**
+     * Creates a new SystemPropertiesSnapshotSource.
+     *
+     * @param priority the source priority
+     */
+    public SystemPropertiesSnapshotSource(int priority) {
+        this.priority = priority;
+        this.snapshot = take();
+    }
+
+    /**
+     * Sets a system property and signals every snapshot source to copy the properties again.
+     *
+     * @param key the property name
+     * @param value the property value
+     * @return the previous value, or null if there was none
+     */
+    public static String setProperty(String key, String value) {
+        String previous = System.setProperty(key, value);
+        MODIFICATIONS.incrementAndGet();
+        return previous;
+    }
+
+    /**
+     * Removes a system property and signals every snapshot source to copy the properties again.
+     *
+     * @param key the property name
+     * @return the previous value, or null if there was none
+     */
+    public static String clearProperty(String key) {
+        String previous = System.clearProperty(key);
+        MODIFICATIONS.incrementAndGet();
+        return previous;
+    }
+
+    /**
+     * Gets the number of change signals fired so far.
+     *
+     * @return the modification count
+     */
+    public static long getModificationCount() {
+        return MODIFICATIONS.get();
+    }
+
+    @Override
+    public String getName() {
+        return "SystemPropertiesSnapshot";
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        Snapshot current = snapshot;
+        if (current.version != MODIFICATIONS.get()) {
+            current = refreshIfStale();
+        }
+        return Optional.ofNullable(current.values.get(key));
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Copies the system properties again, e.g. after they were changed through a plain
+     * {@code System.setProperty} call.
+     */
+    public synchronized void refresh() {
+        snapshot = take();
+    }
+
+    /**
+     * Gets the properties the source currently serves.
+     *
+     * @return an immutable map of property names to values
+     */
+    public Map<String, String> getSnapshot() {
+        return snapshot.values;
+    }
+
+    /**
+     * Copies the properties once for all threads that noticed the same change; the others
+     * wait for that copy instead of taking their own.
+     */
+    private synchronized Snapshot refreshIfStale() {
+        Snapshot current = snapshot;
+        if (current.version != MODIFICATIONS.get()) {
+            current = take();
+            snapshot = current;
+        }
+        return current;
+    }
+
+    /**
+     * Reads the counter before copying, so a change made during the copy marks the new
+     * snapshot as stale rather than being lost.
+     */
+    private static Snapshot take() {
+        long version = MODIFICATIONS.get();
+        Properties properties = System.getProperties();
+        Map<String, String> values = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            String value = properties.getProperty(name);
+            if (value != null) {
+                values.put(name, value);
+            }
+        }
+        return new Snapshot(version, Map.copyOf(values));
+    }
+
+    /**
+     * The copied properties and the modification count they reflect.
+     */
+    private static final class Snapshot {
+
+        private final long version;
+        private final Map<String, String> values;
+
+        private Snapshot(long version, Map<String, String> values) {
+            this.version = version;
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.confng.playground.systemproperties;
+
+/**
+ * Test class for the system properties snapshot source.
+ * This class validates that reads come from a snapshot that is only taken again when a
+ * change signal fires.
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @version 1.0
+ * @since 2025
+ */
+
+import org.confng.ConfNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.testng.Assert.*;
+
+public class SystemPropertiesSnapshotSourceTest {
+
+    @AfterMethod
+    public void tearDown() {
+        System.clearProperty("snapshot.test.value");
+        System.clearProperty("snapshot.test.counter");
+        ConfNG.clearSourcesAndUseDefaults();
+    }
+
+    @Test
+    public void testReadsComeFromSnapshot() {
+        System.setProperty("snapshot.test.value", "initial");
+        SystemPropertiesSnapshotSource source = new SystemPropertiesSnapshotSource();
+        assertEquals(source.get("snapshot.test.value"), Optional.of("initial"));
+        assertEquals(source.get("java.version"), Optional.of(System.getProperty("java.version")));
+
+        // A plain System.setProperty is only seen after refresh()
+        System.setProperty("snapshot.test.value", "unsignalled");
+        assertEquals(source.get("snapshot.test.value"), Optional.of("initial"));
+
+        source.refresh();
+        assertEquals(source.get("snapshot.test.value"), Optional.of("unsignalled"));
+        assertThrows(UnsupportedOperationException.class, () -> source.getSnapshot().put("x", "y"));
+    }
+
+    @Test
+    public void testSetterHookSignalsChange() {
+        SystemPropertiesSnapshotSource source = new SystemPropertiesSnapshotSource();
+        assertFalse(source.get("snapshot.test.value").isPresent());
+
+        long before = SystemPropertiesSnapshotSource.getModificationCount();
+        assertNull(SystemPropertiesSnapshotSource.setProperty("snapshot.test.value", "hooked"));
+        assertTrue(SystemPropertiesSnapshotSource.getModificationCount() > before);
+        assertEquals(source.get("snapshot.test.value"), Optional.of("hooked"));
+
+        assertEquals(SystemPropertiesSnapshotSource.clearProperty("snapshot.test.value"), "hooked");
+        assertFalse(source.get("snapshot.test.value").isPresent());
+    }
+
+    @Test
+    public void testSnapshotIsReusedUntilChange() {
+        SystemPropertiesSnapshotSource source = new SystemPropertiesSnapshotSource();
+        source.get("app.name");
+        Map<String, String> first = source.getSnapshot();
+
+        source.get("app.profile");
+        assertSame(source.getSnapshot(), first);
+
+        SystemPropertiesSnapshotSource.setProperty("snapshot.test.value", "changed");
+        source.get("app.name");
+        assertNotSame(source.getSnapshot(), first);
+    }
+
+    @Test
+    public void testRegisteredSourceServesConfNG() {
+        ConfNG.addSource(new SystemPropertiesSnapshotSource(55));
+        String previous = SystemPropertiesSnapshotSource.setProperty("app.profile", "snapshot");
+        try {
+            assertEquals(ConfNG.get(SystemConfig.APP_PROFILE), "snapshot");
+            assertEquals(ConfNG.getSourceInfo(SystemConfig.APP_PROFILE).getSourceName(), "SystemPropertiesSnapshot");
+        } finally {
+            // Restore the value set by the build for the other tests
+            if (previous == null) {
+                SystemPropertiesSnapshotSource.clearProperty("app.profile");
+            } else {
+                SystemPropertiesSnapshotSource.setProperty("app.profile", previous);
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentReadersSeeWrites() throws Exception {
+        SystemPropertiesSnapshotSource source = new SystemPropertiesSnapshotSource();
+        SystemPropertiesSnapshotSource.setProperty("snapshot.test.counter", "0");
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                readers.add(executor.submit(() -> {
+                    int last = 0;
+                    while (running.get()) {
+                        int current = Integer.parseInt(source.get("snapshot.test.counter").orElseThrow());
+                        assertTrue(current >= last, "Reader went back from " + last + " to " + current);
+                        last = current;
+                    }
+                    return last;
+                }));
+            }
+
+            for (int i = 1; i <= 1000; i++) {
+                SystemPropertiesSnapshotSource.setProperty("snapshot.test.counter", String.valueOf(i));
+            }
+            running.set(false);
+            for (Future<Integer> reader : readers) {
+                reader.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(source.get("snapshot.test.counter"), Optional.of("1000"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
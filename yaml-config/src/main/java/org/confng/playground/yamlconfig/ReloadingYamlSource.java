@@ -0,0 +1,174 @@
+package org.confng.playground.yamlconfig;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * YAML configuration source that picks up changes to its file without a restart.
+ *
+ * <p>The file's directory is watched with a {@link WatchService} on a background daemon
+ * thread. When the file is created or modified it is parsed off the read path and the
+ * resulting immutable index is published through an {@link AtomicReference}. Readers
+ * (e.g. thousands of threads calling {@code ConfNG.get}) only ever dereference the current
+ * snapshot, so they never block and never observe a half-updated document.</p>
+ *
+ * <p>If a changed file cannot be parsed (for example because an editor is still writing
+ * it) or is missing (for example while it is being deleted and replaced) the previous
+ * snapshot stays in place and the error is available from {@link #getLastReloadFailure()};
+ * the next change event triggers another attempt.</p>
+ *
+ * <p>Each call reads a single snapshot. Callers that need several values from the same
+ * version of the file should not assume consecutive calls see the same snapshot.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+public class ReloadingYamlSource extends YamlSource implements AutoCloseable {
+
+    private final Path yamlFile;
+    private final AtomicReference<YamlIndex> snapshot;
+    private final AtomicLong reloadCount = new AtomicLong();
+    private final WatchService watchService;
+    private volatile Thread watcher;
+    private volatile Exception lastReloadFailure;
+
+    private ReloadingYamlSource(Path yamlFile) {
+        super(YamlIndex.EMPTY, "YAML(" + yamlFile.toString() + ")");
+        this.yamlFile = yamlFile.toAbsolutePath();
+        this.snapshot = new AtomicReference<>(YamlIndex.of(loadYamlFile(this.yamlFile)));
+        this.watchService = watch(this.yamlFile);
+    }
+
+    /**
+     * Loads the given YAML file and starts watching it for changes.
+     *
+     * @param yamlFile path to the YAML file
+     * @return the new source
+     * @throws IllegalStateException if the file cannot be loaded or parsed, or cannot be watched
+     */
+    public static ReloadingYamlSource watching(Path yamlFile) {
+        ReloadingYamlSource source = new ReloadingYamlSource(yamlFile);
+        source.start();
+        return source;
+    }
+
+    /**
+     * Re-reads the file and publishes a new snapshot.
+     *
+     * <p>Called by the watcher thread on every change; may also be called directly to
+     * force a reload. Reloads are serialized so an older parse can never overwrite a
+     * newer one; readers are not affected by this lock.</p>
+     *
+     * @return true if a new snapshot was published, false if the file is missing or could
+     *         not be parsed
+     */
+    public synchronized boolean reload() {
+        try {
+            snapshot.set(YamlIndex.of(parseYamlFile(yamlFile)));
+            reloadCount.incrementAndGet();
+            lastReloadFailure = null;
+            return true;
+        } catch (IllegalStateException e) {
+            lastReloadFailure = e;
+            return false;
+        }
+    }
+
+    /**
+     * Gets the number of snapshots published since construction.
+     *
+     * @return the number of successful reloads
+     */
+    public long getReloadCount() {
+        return reloadCount.get();
+    }
+
+    /**
+     * Gets the error of the most recent reload, if it failed.
+     *
+     * @return the failure, or empty if the last reload succeeded
+     */
+    public Optional<Exception> getLastReloadFailure() {
+        return Optional.ofNullable(lastReloadFailure);
+    }
+
+    /**
+     * Stops watching the file. The last published snapshot keeps being served.
+     */
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+        Thread thread = watcher;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    YamlIndex index() {
+        return snapshot.get();
+    }
+
+    /**
+     * Registers the file's directory with a new watch service, closing the service again
+     * if the directory cannot be registered.
+     */
+    private static WatchService watch(Path yamlFile) {
+        WatchService service = null;
+        try {
+            service = yamlFile.getFileSystem().newWatchService();
+            yamlFile.getParent().register(service,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+            return service;
+        } catch (IOException | RuntimeException e) {
+            if (service != null) {
+                try {
+                    service.close();
+                } catch (IOException closeFailure) {
+                    e.addSuppressed(closeFailure);
+                }
+            }
+            throw new IllegalStateException("Failed to watch YAML file: " + yamlFile, e);
+        }
+    }
+
+    private void start() {
+        Thread thread = new Thread(this::processEvents, "yaml-reload-" + yamlFile.getFileName());
+        thread.setDaemon(true);
+        watcher = thread;
+        thread.start();
+    }
+
+    private void processEvents() {
+        Path fileName = yamlFile.getFileName();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Source was closed
+        }
+    }
+}
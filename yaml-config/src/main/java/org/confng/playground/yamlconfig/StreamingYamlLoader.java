@@ -0,0 +1,328 @@
+package org.confng.playground.yamlconfig;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.Construct;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.events.*;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * Loads very large YAML documents straight into a {@link YamlIndex}.
+ *
+ * <p>The file is memory-mapped and fed to SnakeYAML's event parser ({@link Yaml#parse}),
+ * so neither the file contents nor the node/object tree is ever materialized on the heap.
+ * Mapping keys are joined into dotted paths as the events arrive and every scalar is
+ * resolved to the same Java type the regular loader would produce: the tag comes from
+ * SnakeYAML's {@link Resolver} and the value from {@link SafeConstructor}'s own scalar
+ * constructors, so YAML 1.1 forms like octal {@code 012}, hexadecimal {@code 0x1F},
+ * sexagesimal {@code 1:30} and {@code .inf} get the tree loader's values.</p>
+ *
+ * <p>Differences from the tree-based loader:</p>
+ * <ul>
+ *   <li>Only leaf paths are indexed; intermediate mappings are not addressable</li>
+ *   <li>Sequences are stored in their string form, so {@link YamlSource#getList} and
+ *       {@link YamlSource#getMap} return empty collections</li>
+ *   <li>Anchors and aliases are rejected</li>
+ *   <li>Only the first document of a multi-document stream is read</li>
+ *   <li>SnakeYAML's default document size limit (3M code points) is lifted</li>
+ * </ul>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+final class StreamingYamlLoader {
+
+    private static final Resolver RESOLVER = new Resolver();
+
+    /** Scalar tags whose values are built by SafeConstructor; anything else stays text. */
+    private static final Set<Tag> CONSTRUCTED_TAGS = Set.of(Tag.NULL, Tag.BOOL, Tag.INT, Tag.FLOAT, Tag.TIMESTAMP);
+
+    private StreamingYamlLoader() {
+    }
+
+    /**
+     * Streams a YAML file into an index.
+     *
+     * @param file the YAML file to load
+     * @return the flattened index, empty if the file does not exist
+     * @throws IllegalStateException if the file cannot be loaded or parsed
+     */
+    static YamlIndex load(Path file) {
+        if (!Files.exists(file)) {
+            return YamlIndex.EMPTY; // Graceful handling of missing files
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            LoaderOptions options = new LoaderOptions();
+            options.setCodePointLimit(Integer.MAX_VALUE); // Large catalogs are the point of this mode
+            return index(new Yaml(options).parse(new MappedReader(buffer)), new ScalarConstructor(), file);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load YAML file: " + file, e);
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to parse YAML file: " + file, e);
+        }
+    }
+
+    /**
+     * Consumes the event stream of the first document and builds the index.
+     */
+    private static YamlIndex index(Iterable<Event> events, ScalarConstructor scalars, Path file) {
+        YamlIndex.Builder builder = YamlIndex.builder();
+        Deque<MappingFrame> mappings = new ArrayDeque<>();
+        SequenceRenderer renderer = null;
+        boolean rootSeen = false;
+
+        for (Event event : events) {
+            if (event instanceof AliasEvent) {
+                throw new IllegalStateException("YAML aliases are not supported in streaming mode: " + file);
+            }
+
+            if (renderer != null) {
+                if (renderer.accept(event)) {
+                    builder.put(renderer.path, renderer.text());
+                    renderer = null;
+                    mappings.peek().key = null;
+                }
+                continue;
+            }
+
+            if (event instanceof DocumentEndEvent) {
+                break;
+            }
+
+            MappingFrame frame = mappings.peek();
+            if (event instanceof MappingStartEvent) {
+                if (frame == null) {
+                    if (rootSeen) {
+                        throw new IllegalStateException("YAML file does not contain a map structure: " + file);
+                    }
+                    rootSeen = true;
+                    mappings.push(new MappingFrame(""));
+                } else {
+                    mappings.push(new MappingFrame(frame.childPath()));
+                }
+            } else if (event instanceof MappingEndEvent) {
+                mappings.pop();
+                if (!mappings.isEmpty()) {
+                    mappings.peek().key = null;
+                }
+            } else if (event instanceof ScalarEvent) {
+                if (frame == null) {
+                    throw new IllegalStateException("YAML file does not contain a map structure: " + file);
+                }
+                Object value = scalars.resolve((ScalarEvent) event);
+                if (frame.key == null) {
+                    frame.key = String.valueOf(value);
+                } else {
+                    builder.put(frame.childPath(), value);
+                    frame.key = null;
+                }
+            } else if (event instanceof SequenceStartEvent) {
+                if (frame == null) {
+                    throw new IllegalStateException("YAML file does not contain a map structure: " + file);
+                }
+                renderer = new SequenceRenderer(frame.childPath(), scalars);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Resolves scalars with the constructors of SnakeYAML's {@link SafeConstructor}. The
+     * timestamp constructor keeps state between calls, so every load uses its own instance.
+     */
+    private static final class ScalarConstructor extends SafeConstructor {
+
+        private ScalarConstructor() {
+            super(new LoaderOptions());
+        }
+
+        /**
+         * Resolves a scalar to the object the tree-based loader would create for it.
+         */
+        private Object resolve(ScalarEvent event) {
+            String value = event.getValue();
+            Tag tag;
+            if (event.getTag() == null || "!".equals(event.getTag())) {
+                if (!event.getImplicit().canOmitTagInPlainScalar()) {
+                    return value; // Quoted scalars are always strings
+                }
+                tag = RESOLVER.resolve(NodeId.scalar, value, true);
+            } else {
+                tag = new Tag(event.getTag());
+            }
+
+            if (!CONSTRUCTED_TAGS.contains(tag)) {
+                return value;
+            }
+            Construct construct = yamlConstructors.get(tag);
+            return construct.construct(new ScalarNode(tag, value, null, null, DumperOptions.ScalarStyle.PLAIN));
+        }
+    }
+
+    /**
+     * Tracks the dotted path of an open mapping and its pending key.
+     */
+    private static final class MappingFrame {
+
+        private final String path;
+        private String key;
+
+        private MappingFrame(String path) {
+            this.path = path;
+        }
+
+        private String childPath() {
+            return path.isEmpty() ? key : path + "." + key;
+        }
+    }
+
+    /**
+     * Renders a sequence (and anything nested in it) in the same form as
+     * {@code List.toString()} / {@code Map.toString()} would for the parsed tree.
+     */
+    private static final class SequenceRenderer {
+
+        private final String path;
+        private final ScalarConstructor scalars;
+        private final StringBuilder text = new StringBuilder();
+        private final Deque<int[]> counts = new ArrayDeque<>();
+        private final Deque<Boolean> mappings = new ArrayDeque<>();
+
+        private SequenceRenderer(String path, ScalarConstructor scalars) {
+            this.path = path;
+            this.scalars = scalars;
+            open('[', false);
+        }
+
+        /**
+         * Appends an event to the rendered text.
+         *
+         * @return true once the outermost sequence has been closed
+         */
+        private boolean accept(Event event) {
+            if (event instanceof ScalarEvent) {
+                separator();
+                text.append(scalars.resolve((ScalarEvent) event));
+                counts.peek()[0]++;
+            } else if (event instanceof SequenceStartEvent) {
+                separator();
+                open('[', false);
+            } else if (event instanceof MappingStartEvent) {
+                separator();
+                open('{', true);
+            } else if (event instanceof SequenceEndEvent || event instanceof MappingEndEvent) {
+                text.append(mappings.pop() ? '}' : ']');
+                counts.pop();
+                if (counts.isEmpty()) {
+                    return true;
+                }
+                counts.peek()[0]++;
+            }
+            return false;
+        }
+
+        private String text() {
+            return text.toString();
+        }
+
+        private void open(char bracket, boolean mapping) {
+            text.append(bracket);
+            counts.push(new int[1]);
+            mappings.push(mapping);
+        }
+
+        private void separator() {
+            int count = counts.peek()[0];
+            if (mappings.peek()) {
+                if (count % 2 == 1) {
+                    text.append('=');
+                } else if (count > 0) {
+                    text.append(", ");
+                }
+            } else if (count > 0) {
+                text.append(", ");
+            }
+        }
+    }
+
+    /**
+     * Decodes a memory-mapped UTF-8 file on demand, one reader buffer at a time.
+     */
+    private static final class MappedReader extends Reader {
+
+        private final ByteBuffer buffer;
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private boolean endOfInput;
+
+        private MappedReader(ByteBuffer buffer) {
+            this.buffer = buffer;
+            skipByteOrderMark();
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (endOfInput) {
+                return -1;
+            }
+
+            CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+            CoderResult result = decoder.decode(buffer, out, true);
+            if (result.isUnderflow()) {
+                decoder.flush(out);
+                endOfInput = true;
+            } else if (result.isError()) {
+                result.throwException();
+            }
+
+            int read = out.position() - off;
+            return read == 0 && endOfInput ? -1 : read;
+        }
+
+        @Override
+        public void close() {
+            // The mapping is released together with the buffer
+        }
+
+        private void skipByteOrderMark() {
+            if (buffer.remaining() >= 3
+                && buffer.get(0) == (byte) 0xEF
+                && buffer.get(1) == (byte) 0xBB
+                && buffer.get(2) == (byte) 0xBF) {
+                buffer.position(3);
+            }
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package org.confng.playground.yamlconfig;
+
+import java.util.*;
+
+/**
+ * Immutable, flattened view of a parsed YAML document.
+ *
+ * <p>Every path in the document (e.g. "database.primary.pool.maxSize", but also
+ * intermediate paths such as "database.primary.pool") is mapped to an {@link Entry}
+ * holding the raw value. Maps and lists are copied into unmodifiable collections when
+ * the index is built, so a value handed out by a lookup cannot change the indexed data. Leaf entries also hold their pre-computed string form, so leaf
+ * lookups are a single hash probe and do not allocate. The string form of an
+ * intermediate path is only built the first time it is asked for, so a deep document
+ * does not serialize every subtree once per ancestor.</p>
+ *
+ * <p>Leaf keys are additionally kept in sorted order, so all keys below a prefix form a
+ * contiguous range that is found with one binary search; prefix queries cost
+ * O(log n + matches) instead of a scan over every key.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ * @since 1.0
+ */
+final class YamlIndex {
+
+    static final YamlIndex EMPTY = new YamlIndex(Collections.emptyMap(), Collections.emptyNavigableSet());
+
+    private final Map<String, Entry> entries;
+    private final NavigableSet<String> keys;
+
+    private YamlIndex(Map<String, Entry> entries, NavigableSet<String> keys) {
+        this.entries = entries;
+        this.keys = keys;
+    }
+
+    /**
+     * Flattens a parsed YAML document into an index. The document is copied, so later
+     * changes to it do not affect the index.
+     *
+     * @param data the root data map, may be null
+     * @return the flattened index
+     */
+    static YamlIndex of(Map<String, Object> data) {
+        if (data == null || data.isEmpty()) {
+            return EMPTY;
+        }
+
+        Map<String, Entry> entries = new HashMap<>();
+        NavigableSet<String> keys = new TreeSet<>();
+        flatten((Map<?, ?>) freeze(data), "", entries, keys);
+        return new YamlIndex(Collections.unmodifiableMap(entries), Collections.unmodifiableNavigableSet(keys));
+    }
+
+    /**
+     * Creates a builder for indexes that are assembled directly, without a parsed tree.
+     *
+     * @return a new builder
+     */
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the entry for a dotted path.
+     *
+     * @param key the dot-separated key
+     * @return the entry, or null if the path does not exist
+     */
+    Entry get(String key) {
+        return key == null ? null : entries.get(key);
+    }
+
+    /**
+     * Returns all leaf keys in dot notation.
+     *
+     * @return an unmodifiable set of keys in sorted order
+     */
+    NavigableSet<String> keys() {
+        return keys;
+    }
+
+    /**
+     * Returns the leaf keys that start with the given prefix.
+     *
+     * @param prefix the key prefix, e.g. "database."
+     * @return an unmodifiable, sorted view of the matching keys
+     */
+    NavigableSet<String> keysWithPrefix(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return keys;
+        }
+        // Every key starting with the prefix sorts between the prefix and prefix + U+FFFF
+        return keys.subSet(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Deep-copies maps, lists and sets into unmodifiable collections in their original
+     * order; every other value is returned as is. Nested maps of the copy are shared
+     * with the entries of their own paths.
+     *
+     * @param value the parsed value
+     * @return the unmodifiable copy
+     */
+    private static Object freeze(Object value) {
+        if (value instanceof Map) {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                copy.put(entry.getKey(), freeze(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(copy);
+        }
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                copy.add(freeze(element));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        if (value instanceof Set) {
+            Set<Object> copy = new LinkedHashSet<>();
+            for (Object element : (Set<?>) value) {
+                copy.add(freeze(element));
+            }
+            return Collections.unmodifiableSet(copy);
+        }
+        return value;
+    }
+
+    /**
+     * Recursively flattens nested maps into dot-notation entries.
+     *
+     * @param data the current data map
+     * @param prefix the current key prefix
+     * @param entries the map to add entries for every path to
+     * @param keys the set to add leaf keys to
+     */
+    private static void flatten(Map<?, ?> data, String prefix, Map<String, Entry> entries, Set<String> keys) {
+        for (Map.Entry<?, ?> entry : data.entrySet()) {
+            String key = prefix.isEmpty()
+                ? String.valueOf(entry.getKey())
+                : prefix + "." + entry.getKey();
+            Object value = entry.getValue();
+
+            if (value != null) {
+                entries.putIfAbsent(key, new Entry(value));
+            }
+
+            if (value instanceof Map) {
+                flatten((Map<?, ?>) value, key, entries, keys);
+            } else {
+                keys.add(key);
+            }
+        }
+    }
+
+    /**
+     * Assembles an index one path at a time, used by {@link StreamingYamlLoader}.
+     */
+    static final class Builder {
+
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final NavigableSet<String> keys = new TreeSet<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a leaf key.
+         *
+         * @param key the dot-separated key
+         * @param value the value, or null for an explicit YAML null
+         * @return this builder
+         */
+        Builder put(String key, Object value) {
+            if (value != null) {
+                entries.putIfAbsent(key, new Entry(value));
+            }
+            keys.add(key);
+            return this;
+        }
+
+        YamlIndex build() {
+            if (keys.isEmpty()) {
+                return EMPTY;
+            }
+            return new YamlIndex(Collections.unmodifiableMap(entries), Collections.unmodifiableNavigableSet(keys));
+        }
+    }
+
+    /**
+     * A single indexed value with its cached string form, its numeric forms and a
+     * memo of typed conversions. Map-valued entries build their string form on first
+     * use and have no conversions.
+     */
+    static final class Entry {
+
+        private static final Class<?>[] CONVERTIBLE_TYPES = {
+            Integer.class, Long.class, Double.class, Float.class, Boolean.class
+        };
+
+        final Object value;
+        final Optional<Object> optionalValue;
+        final boolean numeric;
+        final int intValue;
+        final long longValue;
+        final double doubleValue;
+
+        // Filled lazily; racy writes are benign because every slot converges on an equal Optional
+        private Optional<String> text;
+        private final Optional<?>[] conversions;
+
+        Entry(Object value) {
+            boolean map = value instanceof Map;
+            this.value = value;
+            this.optionalValue = Optional.of(value);
+            this.text = map ? null : Optional.of(value instanceof String ? (String) value : String.valueOf(value));
+            this.conversions = map ? null : new Optional<?>[CONVERTIBLE_TYPES.length];
+            this.numeric = value instanceof Number;
+            this.intValue = numeric ? ((Number) value).intValue() : 0;
+            this.longValue = numeric ? ((Number) value).longValue() : 0L;
+            this.doubleValue = numeric ? ((Number) value).doubleValue() : 0.0;
+        }
+
+        /**
+         * Returns the value converted to the given type, memoized per type.
+         *
+         * @param type the expected type
+         * @return an Optional containing the typed value, or empty if not convertible
+         */
+        Optional<?> as(Class<?> type) {
+            if (type.isInstance(value)) {
+                return optionalValue;
+            }
+            if (type == String.class) {
+                return text();
+            }
+            if (conversions == null) {
+                return Optional.empty();
+            }
+
+            for (int slot = 0; slot < CONVERTIBLE_TYPES.length; slot++) {
+                if (CONVERTIBLE_TYPES[slot] == type) {
+                    Optional<?> converted = conversions[slot];
+                    if (converted == null) {
+                        converted = convert(type);
+                        conversions[slot] = converted;
+                    }
+                    return converted;
+                }
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * Returns the string form of the value.
+         *
+         * @return an Optional containing the value as a string
+         */
+        Optional<String> text() {
+            Optional<String> result = text;
+            if (result == null) {
+                result = Optional.of(String.valueOf(value));
+                text = result;
+            }
+            return result;
+        }
+
+        private Optional<?> convert(Class<?> type) {
+            // Handle number conversions
+            if (numeric) {
+                if (type == Integer.class) {
+                    return Optional.of(intValue);
+                } else if (type == Long.class) {
+                    return Optional.of(longValue);
+                } else if (type == Double.class) {
+                    return Optional.of(doubleValue);
+                } else if (type == Float.class) {
+                    return Optional.of(((Number) value).floatValue());
+                }
+            }
+
+            // Handle boolean conversion
+            if (type == Boolean.class && value instanceof String) {
+                String str = (String) value;
+                if ("true".equalsIgnoreCase(str) || "false".equalsIgnoreCase(str)) {
+                    return Optional.of(Boolean.parseBoolean(str));
+                }
+            }
+
+            return Optional.empty();
+        }
+    }
+}
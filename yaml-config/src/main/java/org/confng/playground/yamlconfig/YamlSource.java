@@ -13,7 +13,9 @@ import java.util.*;
  * Custom configuration source that reads from YAML files.
  * 
  * <p>This source demonstrates how to extend ConfNG with custom configuration formats.
- * It uses SnakeYAML for parsing and supports nested property access using dot notation.</p>
+ * It uses SnakeYAML for parsing and supports nested property access using dot notation.
+ * The parsed document is flattened once at construction into an immutable dotted-key
+ * index, so lookups are a single hash probe.</p>
  * 
  * <p>Features:</p>
  * <ul>
@@ -30,7 +32,7 @@ import java.util.*;
  */
 public class YamlSource implements ConfigSource {
     
-    private final Map<String, Object> yamlData;
+    private final YamlIndex index;
     private final String sourceName;
     
     /**
@@ -40,8 +42,7 @@ public class YamlSource implements ConfigSource {
      * @throws IllegalStateException if the file cannot be loaded or parsed
      */
     public YamlSource(Path yamlFile) {
-        this.sourceName = "YAML(" + yamlFile.toString() + ")";
-        this.yamlData = loadYamlFile(yamlFile);
+        this(YamlIndex.of(loadYamlFile(yamlFile)), "YAML(" + yamlFile.toString() + ")");
     }
     
     /**
@@ -51,7 +52,27 @@ public class YamlSource implements ConfigSource {
      * @param sourceName the name of this source
      */
     public YamlSource(Map<String, Object> yamlData, String sourceName) {
-        this.yamlData = yamlData != null ? yamlData : Collections.emptyMap();
+        this(YamlIndex.of(yamlData), sourceName);
+    }
+    
+    /**
+     * Creates a YamlSource that streams the given file instead of parsing it into a tree.
+     * 
+     * <p>Intended for very large, generated YAML documents: the file is memory-mapped and
+     * indexed directly from SnakeYAML parser events, so peak heap stays close to the size
+     * of the final index. Only leaf keys are indexed, sequences are kept in their string
+     * form and anchors/aliases are rejected.</p>
+     * 
+     * @param yamlFile path to the YAML file
+     * @return a new YamlSource backed by a streamed index
+     * @throws IllegalStateException if the file cannot be loaded or parsed
+     */
+    public static YamlSource streaming(Path yamlFile) {
+        return new YamlSource(StreamingYamlLoader.load(yamlFile), "YAML(" + yamlFile.toString() + ")");
+    }
+    
+    YamlSource(YamlIndex index, String sourceName) {
+        this.index = index;
         this.sourceName = sourceName;
     }
     
@@ -62,22 +83,8 @@ public class YamlSource implements ConfigSource {
     
     @Override
     public Optional<String> get(String key) {
-        Object value = getNestedValue(yamlData, key);
-        if (value == null) {
-            return Optional.empty();
-        }
-        
-        // Convert value to string
-        if (value instanceof String) {
-            return Optional.of((String) value);
-        } else if (value instanceof Number || value instanceof Boolean) {
-            return Optional.of(String.valueOf(value));
-        } else if (value instanceof List || value instanceof Map) {
-            // For complex objects, return a string representation
-            return Optional.of(value.toString());
-        }
-        
-        return Optional.of(String.valueOf(value));
+        YamlIndex.Entry entry = index().get(key);
+        return entry != null ? entry.text() : Optional.empty();
     }
     
     @Override
@@ -88,64 +95,69 @@ public class YamlSource implements ConfigSource {
     /**
      * Gets a value as a specific type.
      * 
+     * <p>Conversions are memoized per key and target type, so repeated reads return the
+     * same cached instance without boxing or converting again.</p>
+     * 
      * @param key the configuration key
      * @param type the expected type
      * @param <T> the type parameter
      * @return an Optional containing the typed value, or empty if not found or not convertible
      */
+    @SuppressWarnings("unchecked")
     public <T> Optional<T> getTyped(String key, Class<T> type) {
-        Object value = getNestedValue(yamlData, key);
-        if (value == null) {
+        YamlIndex.Entry entry = index().get(key);
+        if (entry == null) {
             return Optional.empty();
         }
-        
-        if (type.isInstance(value)) {
-            return Optional.of(type.cast(value));
-        }
-        
-        // Handle string conversion
-        if (type == String.class) {
-            return Optional.of(type.cast(String.valueOf(value)));
-        }
-        
-        // Handle number conversions
-        if (value instanceof Number) {
-            Number num = (Number) value;
-            if (type == Integer.class) {
-                return Optional.of(type.cast(num.intValue()));
-            } else if (type == Long.class) {
-                return Optional.of(type.cast(num.longValue()));
-            } else if (type == Double.class) {
-                return Optional.of(type.cast(num.doubleValue()));
-            } else if (type == Float.class) {
-                return Optional.of(type.cast(num.floatValue()));
-            }
-        }
-        
-        // Handle boolean conversion
-        if (type == Boolean.class) {
-            if (value instanceof Boolean) {
-                return Optional.of(type.cast(value));
-            } else if (value instanceof String) {
-                String str = (String) value;
-                if ("true".equalsIgnoreCase(str) || "false".equalsIgnoreCase(str)) {
-                    return Optional.of(type.cast(Boolean.parseBoolean(str)));
-                }
-            }
-        }
-        
-        return Optional.empty();
+        return (Optional<T>) entry.as(type);
+    }
+    
+    /**
+     * Gets a numeric value as an int without boxing.
+     * 
+     * @param key the configuration key
+     * @param defaultValue the value to return if the key is missing or not a number
+     * @return the int value, or the default value
+     */
+    public int getInt(String key, int defaultValue) {
+        YamlIndex.Entry entry = index().get(key);
+        return entry != null && entry.numeric ? entry.intValue : defaultValue;
+    }
+    
+    /**
+     * Gets a numeric value as a long without boxing.
+     * 
+     * @param key the configuration key
+     * @param defaultValue the value to return if the key is missing or not a number
+     * @return the long value, or the default value
+     */
+    public long getLong(String key, long defaultValue) {
+        YamlIndex.Entry entry = index().get(key);
+        return entry != null && entry.numeric ? entry.longValue : defaultValue;
+    }
+    
+    /**
+     * Gets a numeric value as a double without boxing.
+     * 
+     * @param key the configuration key
+     * @param defaultValue the value to return if the key is missing or not a number
+     * @return the double value, or the default value
+     */
+    public double getDouble(String key, double defaultValue) {
+        YamlIndex.Entry entry = index().get(key);
+        return entry != null && entry.numeric ? entry.doubleValue : defaultValue;
     }
     
     /**
      * Gets a list value from the YAML configuration.
      * 
      * @param key the configuration key
-     * @return a List of objects, or empty list if not found or not a list
+     * @return an unmodifiable List of objects, or empty list if not found or not a list
      */
     @SuppressWarnings("unchecked")
     public List<Object> getList(String key) {
-        Object value = getNestedValue(yamlData, key);
+        YamlIndex.Entry entry = index().get(key);
+        Object value = entry != null ? entry.value : null;
         if (value instanceof List) {
             return (List<Object>) value;
         }
@@ -156,11 +168,12 @@ public class YamlSource implements ConfigSource {
      * Gets a map value from the YAML configuration.
      * 
      * @param key the configuration key
-     * @return a Map of string keys to objects, or empty map if not found or not a map
+     * @return an unmodifiable Map of string keys to objects, or empty map if not found or not a map
      */
     @SuppressWarnings("unchecked")
     public Map<String, Object> getMap(String key) {
-        Object value = getNestedValue(yamlData, key);
+        YamlIndex.Entry entry = index().get(key);
+        Object value = entry != null ? entry.value : null;
         if (value instanceof Map) {
             return (Map<String, Object>) value;
         }
@@ -170,12 +183,50 @@ public class YamlSource implements ConfigSource {
     /**
      * Gets all keys available in this YAML source.
      * 
-     * @return a set of all available keys (flattened with dot notation)
+     * @return an unmodifiable set of all available keys (flattened with dot notation), in sorted order
      */
     public Set<String> getAllKeys() {
-        Set<String> keys = new HashSet<>();
-        flattenKeys(yamlData, "", keys);
-        return keys;
+        return index().keys();
+    }
+    
+    /**
+     * Gets all keys that start with the given prefix.
+     * 
+     * <p>Served from the sorted key index, so the cost depends on the number of matches,
+     * not on the total number of keys.</p>
+     * 
+     * @param prefix the key prefix (e.g., "database.")
+     * @return an unmodifiable set of matching keys in sorted order
+     */
+    public Set<String> getKeysWithPrefix(String prefix) {
+        return index().keysWithPrefix(prefix);
+    }
+    
+    /**
+     * Gets all values whose keys start with the given prefix.
+     * 
+     * @param prefix the key prefix (e.g., "database.")
+     * @return a map of matching keys to their string values, in sorted key order
+     */
+    public Map<String, String> getByPrefix(String prefix) {
+        YamlIndex index = index();
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String key : index.keysWithPrefix(prefix)) {
+            YamlIndex.Entry entry = index.get(key);
+            if (entry != null) {
+                values.put(key, entry.text().get());
+            }
+        }
+        return values;
+    }
+    
+    /**
+     * Returns the index lookups are served from.
+     * 
+     * @return the current index
+     */
+    YamlIndex index() {
+        return index;
     }
     
     /**
@@ -185,11 +236,21 @@ public class YamlSource implements ConfigSource {
      * @return the parsed YAML data as a Map
      * @throws IllegalStateException if the file cannot be loaded or parsed
      */
-    private Map<String, Object> loadYamlFile(Path file) {
+    static Map<String, Object> loadYamlFile(Path file) {
         if (!Files.exists(file)) {
             return Collections.emptyMap(); // Graceful handling of missing files
         }
-        
+        return parseYamlFile(file);
+    }
+    
+    /**
+     * Parses a YAML file that must exist.
+     * 
+     * @param file the YAML file to parse
+     * @return the parsed YAML data as a Map
+     * @throws IllegalStateException if the file is missing, cannot be read or cannot be parsed
+     */
+    static Map<String, Object> parseYamlFile(Path file) {
         try (InputStream inputStream = Files.newInputStream(file)) {
             Yaml yaml = new Yaml();
             Object data = yaml.load(inputStream);
@@ -207,54 +268,4 @@ public class YamlSource implements ConfigSource {
             throw new IllegalStateException("Failed to parse YAML file: " + file, e);
         }
     }
-    
-    /**
-     * Retrieves a nested value using dot notation.
-     * For example, "database.primary.url" will navigate through the nested structure.
-     * 
-     * @param data the root data map
-     * @param key the dot-separated key
-     * @return the value at the specified path, or null if not found
-     */
-    private Object getNestedValue(Map<String, Object> data, String key) {
-        if (key == null || key.isEmpty()) {
-            return null;
-        }
-        
-        String[] parts = key.split("\\.");
-        Object current = data;
-        
-        for (String part : parts) {
-            if (current instanceof Map) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> currentMap = (Map<String, Object>) current;
-                current = currentMap.get(part);
-            } else {
-                return null;
-            }
-        }
-        
-        return current;
-    }
-    
-    /**
-     * Recursively flattens nested maps into dot-notation keys.
-     * 
-     * @param data the current data map
-     * @param prefix the current key prefix
-     * @param keys the set to add flattened keys to
-     */
-    private void flattenKeys(Map<String, Object> data, String prefix, Set<String> keys) {
-        for (Map.Entry<String, Object> entry : data.entrySet()) {
-            String key = prefix.isEmpty() ? entry.getKey() : prefix + "." + entry.getKey();
-            
-            if (entry.getValue() instanceof Map) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> nestedMap = (Map<String, Object>) entry.getValue();
-                flattenKeys(nestedMap, key, keys);
-            } else {
-                keys.add(key);
-            }
-        }
-    }
 }
\ No newline at end of file
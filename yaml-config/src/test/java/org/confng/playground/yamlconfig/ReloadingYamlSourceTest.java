@@ -0,0 +1,137 @@
+package org.confng.playground.yamlconfig;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the hot-reloading YAML configuration source.
+ *
+ * <p>This test class showcases:</p>
+ * <ul>
+ *   <li>Picking up file changes through the WatchService</li>
+ *   <li>Keeping the last good snapshot when a change cannot be parsed</li>
+ *   <li>Readers always seeing a complete snapshot while reloads happen</li>
+ * </ul>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ */
+public class ReloadingYamlSourceTest {
+
+    private Path directory;
+    private Path yamlFile;
+    private ReloadingYamlSource source;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("reloading-yaml");
+        yamlFile = directory.resolve("application.yaml");
+        write(1);
+        source = ReloadingYamlSource.watching(yamlFile);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanup() throws IOException {
+        source.close();
+        Files.deleteIfExists(yamlFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Test(groups = "yaml-config")
+    public void testPicksUpFileChanges() throws Exception {
+        assertThat(source.get("app.revision")).hasValue("1");
+
+        write(2);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!source.get("app.revision").equals(Optional.of("2")) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(source.get("app.revision")).hasValue("2");
+        assertThat(source.getTyped("database.pool.maxSize", Integer.class)).hasValue(20);
+        assertThat(source.getReloadCount()).isPositive();
+    }
+
+    @Test(groups = "yaml-config")
+    public void testKeepsLastSnapshotWhenReloadFails() throws IOException {
+        Files.writeString(yamlFile, "app: [unterminated");
+
+        assertThat(source.reload()).isFalse();
+        assertThat(source.getLastReloadFailure()).isPresent();
+        assertThat(source.get("app.revision")).hasValue("1");
+
+        write(3);
+
+        assertThat(source.reload()).isTrue();
+        assertThat(source.getLastReloadFailure()).isEmpty();
+        assertThat(source.get("app.revision")).hasValue("3");
+    }
+
+    @Test(groups = "yaml-config")
+    public void testKeepsLastSnapshotWhenFileIsMissing() throws IOException {
+        Files.delete(yamlFile);
+
+        assertThat(source.reload()).isFalse();
+        assertThat(source.getLastReloadFailure()).isPresent();
+        assertThat(source.get("app.revision")).hasValue("1");
+
+        write(4);
+
+        assertThat(source.reload()).isTrue();
+        assertThat(source.get("app.revision")).hasValue("4");
+    }
+
+    @Test(groups = "yaml-config")
+    public void testReadersNeverSeePartialSnapshots() throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] results = new Future<?>[4];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = readers.submit(() -> {
+                    while (running.get()) {
+                        // Every published snapshot is complete, so no key ever goes missing
+                        String revision = source.get("app.revision").orElseThrow();
+                        assertThat(source.get("database.pool.maxSize")).isPresent();
+                        assertThat(Integer.parseInt(revision)).isPositive();
+                    }
+                    return null;
+                });
+            }
+
+            for (int revision = 2; revision < 50; revision++) {
+                write(revision);
+                source.reload();
+            }
+            running.set(false);
+
+            for (Future<?> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            running.set(false);
+            readers.shutdownNow();
+        }
+    }
+
+    private void write(int revision) throws IOException {
+        Path temp = directory.resolve("application.yaml.tmp");
+        Files.writeString(temp, "app:\n  revision: " + revision + "\n"
+            + "database:\n  pool:\n    maxSize: " + (revision * 10) + "\n");
+        Files.move(temp, yamlFile, java.nio.file.StandardCopyOption.REPLACE_EXISTING,
+            java.nio.file.StandardCopyOption.ATOMIC_MOVE);
+    }
+}
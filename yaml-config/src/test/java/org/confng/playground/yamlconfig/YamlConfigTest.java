@@ -4,12 +4,17 @@ import org.confng.ConfNG;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Test class demonstrating ConfNG with custom YAML configuration source.
@@ -277,6 +282,23 @@ public class YamlConfigTest {
             .hasValue(true);
     }
     
+    @Test(groups = "yaml-config")
+    public void testListsAndMapsCannotChangeIndexedData() {
+        List<Object> features = yamlSource.getList("app.features");
+        assertThatThrownBy(() -> features.add("injected"))
+            .isInstanceOf(UnsupportedOperationException.class);
+
+        // Nested maps are read-only as well, not just the map returned at the top
+        Map<String, Object> primary = yamlSource.getMap("database.primary");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> pool = (Map<String, Object>) primary.get("pool");
+        assertThatThrownBy(() -> pool.put("maxSize", 99))
+            .isInstanceOf(UnsupportedOperationException.class);
+
+        assertThat(yamlSource.getList("app.features")).hasSize(4);
+        assertThat(yamlSource.get("database.primary.pool.maxSize")).hasValue("20");
+    }
+    
     @Test(groups = "yaml-config")
     public void testYamlSourceMetadata() {
         // Test source metadata
@@ -294,6 +316,173 @@ public class YamlConfigTest {
             .hasSizeGreaterThan(20);
     }
     
+    @Test(groups = "yaml-config")
+    public void testFlattenedIndexLookups() {
+        // Leaf and intermediate paths resolve from the pre-built index
+        assertThat(yamlSource.get("database.primary.pool.maxSize"))
+            .hasValue("20");
+        assertThat(yamlSource.get("database.primary.pool"))
+            .hasValue("{maxSize=20, minSize=5, timeout=30000, idleTimeout=600000}");
+        assertThat(yamlSource.get("database.primary.missing"))
+            .isEmpty();
+        
+        // Repeated lookups hand out the cached values instead of re-converting
+        assertThat(yamlSource.get("app.name"))
+            .isSameAs(yamlSource.get("app.name"));
+        assertThat(yamlSource.getTyped("cache.redis.port", Integer.class))
+            .isSameAs(yamlSource.getTyped("cache.redis.port", Integer.class));
+        
+        // Key discovery is computed once and cannot be modified by callers
+        assertThat(yamlSource.getAllKeys())
+            .isSameAs(yamlSource.getAllKeys())
+            .isUnmodifiable();
+    }
+    
+    @Test(groups = "yaml-config")
+    public void testPrefixQueries() {
+        assertThat(yamlSource.getKeysWithPrefix("database.primary.pool."))
+            .containsExactly(
+                "database.primary.pool.idleTimeout",
+                "database.primary.pool.maxSize",
+                "database.primary.pool.minSize",
+                "database.primary.pool.timeout");
+        
+        assertThat(yamlSource.getByPrefix("database.primary.pool."))
+            .containsEntry("database.primary.pool.maxSize", "20")
+            .containsEntry("database.primary.pool.timeout", "30000")
+            .hasSize(4);
+        
+        // Prefix queries agree with filtering every key
+        assertThat(yamlSource.getKeysWithPrefix("api."))
+            .containsExactlyElementsOf(yamlSource.getAllKeys().stream()
+                .filter(key -> key.startsWith("api."))
+                .sorted()
+                .toList());
+        
+        // A prefix matches whole strings, not just whole segments
+        assertThat(yamlSource.getKeysWithPrefix("database.prim"))
+            .allMatch(key -> key.startsWith("database.primary."));
+        assertThat(yamlSource.getKeysWithPrefix("nonexistent."))
+            .isEmpty();
+        assertThat(yamlSource.getKeysWithPrefix(""))
+            .isEqualTo(yamlSource.getAllKeys());
+    }
+    
+    @Test(groups = "yaml-config")
+    public void testPrimitiveAccessors() {
+        // Numeric values are read without boxing
+        assertThat(yamlSource.getInt("database.primary.pool.maxSize", -1))
+            .isEqualTo(20);
+        assertThat(yamlSource.getLong("database.primary.pool.idleTimeout", -1L))
+            .isEqualTo(600000L);
+        assertThat(yamlSource.getDouble("cache.redis.port", -1.0))
+            .isEqualTo(6379.0);
+        
+        // Missing and non-numeric keys fall back to the given default
+        assertThat(yamlSource.getInt("database.primary.pool.missing", -1))
+            .isEqualTo(-1);
+        assertThat(yamlSource.getInt("app.name", -1))
+            .isEqualTo(-1);
+        
+        // Typed conversions are memoized per key and target type
+        assertThat(yamlSource.getTyped("database.primary.pool.maxSize", Long.class))
+            .hasValue(20L)
+            .isSameAs(yamlSource.getTyped("database.primary.pool.maxSize", Long.class));
+        assertThat(yamlSource.getTyped("app.name", Integer.class))
+            .isEmpty();
+    }
+    
+    @Test(groups = "yaml-config")
+    public void testStreamingLoaderMatchesTreeLoader() {
+        YamlSource streamed = YamlSource.streaming(Paths.get("src/test/resources/application.yaml"));
+        
+        // Both loading modes index the same leaf keys with the same values
+        assertThat(streamed.getAllKeys())
+            .isEqualTo(yamlSource.getAllKeys());
+        for (String key : yamlSource.getAllKeys()) {
+            assertThat(streamed.get(key))
+                .as(key)
+                .isEqualTo(yamlSource.get(key));
+        }
+        
+        assertThat(streamed.getTyped("database.primary.pool.maxSize", Integer.class))
+            .hasValue(20);
+        assertThat(streamed.getTyped("app.debug", Boolean.class))
+            .hasValue(true);
+        assertThat(streamed.get("app.features"))
+            .hasValue("[new-ui, analytics, caching, monitoring]");
+    }
+    
+    @Test(groups = "yaml-config")
+    public void testStreamingLoaderResolvesScalarsLikeTreeLoader() throws IOException {
+        Path file = Files.createTempFile("scalars", ".yaml");
+        try {
+            Files.writeString(file, String.join("\n",
+                "numbers:",
+                "  decimal: 1_000",
+                "  signed: +12",
+                "  octal: 012",
+                "  hex: 0x1F",
+                "  negativeHex: -0x1F",
+                "  binary: 0b101",
+                "  sexagesimal: 190:20:30",
+                "  long: 12345678901",
+                "  big: 123456789012345678901234",
+                "  float: 1.5e3",
+                "  sexagesimalFloat: 1:30.5",
+                "  infinity: .inf",
+                "  negativeInfinity: -.Inf",
+                "  notANumber: .NaN",
+                "other:",
+                "  quoted: \"012\"",
+                "  taggedString: !!str 0x1F",
+                "  taggedInt: !!int \"0x10\"",
+                "  flag: yes",
+                "  disabled: off",
+                "  nothing: ~",
+                "  date: 2001-12-14",
+                "  list: [012, 0x1F, .inf]",
+                ""));
+            
+            YamlIndex tree = YamlIndex.of(YamlSource.loadYamlFile(file));
+            YamlIndex streamed = StreamingYamlLoader.load(file);
+            assertThat(streamed.keys()).isEqualTo(tree.keys());
+            for (String key : tree.keys()) {
+                // Sequences are stored in their string form in streaming mode
+                Object expected = valueOf(tree, key);
+                assertThat(valueOf(streamed, key))
+                    .as(key)
+                    .isEqualTo(expected instanceof List ? expected.toString() : expected);
+            }
+            
+            assertThat(valueOf(streamed, "numbers.octal")).isEqualTo(10);
+            assertThat(valueOf(streamed, "numbers.hex")).isEqualTo(31);
+            assertThat(valueOf(streamed, "numbers.sexagesimal")).isEqualTo(685230);
+            assertThat(valueOf(streamed, "numbers.infinity")).isEqualTo(Double.POSITIVE_INFINITY);
+            assertThat(valueOf(streamed, "other.quoted")).isEqualTo("012");
+            assertThat(valueOf(streamed, "other.list")).isEqualTo("[10, 31, Infinity]");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+    
+    @Test(groups = "yaml-config")
+    public void testIntermediatePathsAreRenderedOnDemand() {
+        YamlIndex index = YamlIndex.of(Map.of("outer", Map.of("inner", Map.of("leaf", 7))));
+
+        assertThat(index.get("outer.inner.leaf").text()).contains("7");
+        assertThat(index.get("outer.inner.leaf").as(Long.class)).isEqualTo(Optional.of(7L));
+        assertThat(index.get("outer").text()).contains("{inner={leaf=7}}");
+        assertThat(index.get("outer").text()).isSameAs(index.get("outer").text());
+        assertThat(index.get("outer.inner").as(Integer.class)).isEmpty();
+        assertThat(index.keys()).containsExactly("outer.inner.leaf");
+    }
+
+    private static Object valueOf(YamlIndex index, String key) {
+        YamlIndex.Entry entry = index.get(key);
+        return entry == null ? null : entry.value;
+    }
+    
     @Test(groups = "yaml-config")
     public void testDefaultValueFallback() {
         // Test keys that don't exist in YAML fall back to defaults
@@ -0,0 +1,161 @@
+package org.confng.playground.yamlconfig;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the tree-based and the streaming YAML loaders on a generated multi-MB catalog.
+ *
+ * <p>The default catalog (~2.5 MB) stays below SnakeYAML's 3M code point document limit,
+ * which only the streaming mode lifts; use {@code -Dbenchmark.yaml.services} to change it.</p>
+ *
+ * <p>For each loading mode this reports the median load time, the bytes allocated by the
+ * loading thread, the peak heap observed while loading and the heap retained by the
+ * resulting source. Excluded from the regular test run; execute with
+ * {@code ./gradlew benchmark}.</p>
+ *
+ * @author Bharat Kumar Malviya
+ * @author GitHub: github.com/imBharatMalviya
+ */
+@Test(groups = "benchmark")
+public class YamlLoadBenchmark {
+
+    private static final int SERVICES = Integer.getInteger("benchmark.yaml.services", 10_000);
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    private Path catalog;
+
+    @BeforeClass
+    public void generateCatalog() throws IOException {
+        catalog = Files.createTempFile("catalog", ".yaml");
+        try (BufferedWriter writer = Files.newBufferedWriter(catalog)) {
+            writer.write("catalog:\n  services:\n");
+            for (int i = 0; i < SERVICES; i++) {
+                writer.write("    service" + i + ":\n");
+                writer.write("      baseUrl: \"https://service" + i + ".example.com\"\n");
+                writer.write("      timeout: " + (1000 + i) + "\n");
+                writer.write("      retryAttempts: " + (i % 5) + "\n");
+                writer.write("      enabled: " + (i % 2 == 0) + "\n");
+                writer.write("      weight: " + (i / 100.0) + "\n");
+                writer.write("      owner: \"team-" + (i % 40) + "\"\n");
+                writer.write("      pool:\n");
+                writer.write("        maxSize: " + (10 + i % 20) + "\n");
+                writer.write("        minSize: " + (1 + i % 3) + "\n");
+                writer.write("      tags: [\"tier-" + (i % 3) + "\", \"region-" + (i % 7) + "\"]\n");
+            }
+        }
+        System.out.printf("Generated %s with %d services (%d KB)%n",
+            catalog, SERVICES, Files.size(catalog) / 1024);
+    }
+
+    @Test
+    public void compareLoadingModes() {
+        Result tree = measure("tree", YamlSource::new);
+        Result streaming = measure("streaming", YamlSource::streaming);
+
+        System.out.println(Result.HEADER);
+        System.out.println(tree);
+        System.out.println(streaming);
+
+        assertThat(streaming.allocatedBytes)
+            .as("streaming mode should allocate less than the tree-based loader")
+            .isLessThan(tree.allocatedBytes);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteCatalog() throws IOException {
+        if (catalog != null) {
+            Files.deleteIfExists(catalog);
+        }
+    }
+
+    private Result measure(String mode, Function<Path, YamlSource> loader) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            assertThat(loader.apply(catalog).getAllKeys()).isNotEmpty();
+        }
+
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+        long threadId = Thread.currentThread().threadId();
+
+        long[] nanos = new long[MEASURED_RUNS];
+        long allocated = 0;
+        long peak = 0;
+        long retained = 0;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long baseline = usedHeapAfterGc();
+            heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            YamlSource source = loader.apply(catalog);
+            nanos[i] = System.nanoTime() - start;
+            allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            long peakUsed = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            peak = Math.max(peak, peakUsed - baseline);
+            retained = usedHeapAfterGc() - baseline;
+
+            assertThat(source.get("catalog.services.service0.pool.maxSize")).hasValue("10");
+        }
+
+        Arrays.sort(nanos);
+        return new Result(mode, nanos[MEASURED_RUNS / 2], allocated, peak, retained);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static final class Result {
+
+        static final String HEADER = String.format("%-10s %12s %16s %14s %14s",
+            "mode", "median ms", "allocated MB", "peak MB", "retained MB");
+
+        final String mode;
+        final long medianNanos;
+        final long allocatedBytes;
+        final long peakBytes;
+        final long retainedBytes;
+
+        Result(String mode, long medianNanos, long allocatedBytes, long peakBytes, long retainedBytes) {
+            this.mode = mode;
+            this.medianNanos = medianNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.peakBytes = peakBytes;
+            this.retainedBytes = retainedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %12d %16.1f %14.1f %14.1f",
+                mode,
+                TimeUnit.NANOSECONDS.toMillis(medianNanos),
+                allocatedBytes / 1048576.0,
+                peakBytes / 1048576.0,
+                retainedBytes / 1048576.0);
+        }
+    }
+}